@@ -0,0 +1,44 @@
+package com.franciscoguemes.sudoku.benchmark;
+
+import com.franciscoguemes.sudoku.model.Generator;
+import com.franciscoguemes.sudoku.model.Puzzle;
+import com.franciscoguemes.sudoku.model.PuzzleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"MINI_SUDOKU", "SUDOKU", "BIG_SUDOKU", "MAXI_SUDOKU"})
+    private String type;
+
+    private PuzzleType puzzleType;
+    private Generator generator;
+
+    @Setup
+    public void setUp() {
+        puzzleType = PuzzleType.valueOf(type);
+        generator = new Generator();
+    }
+
+    @Benchmark
+    public Puzzle generateRandomSudoku() {
+        return generator.generateRandomSudoku(puzzleType);
+    }
+}
@@ -0,0 +1,79 @@
+package com.franciscoguemes.sudoku.benchmark;
+
+import com.franciscoguemes.sudoku.model.Puzzle;
+import com.franciscoguemes.sudoku.model.PuzzleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PuzzleBenchmark {
+
+    @Param({"SUDOKU", "MAXI_SUDOKU"})
+    private String type;
+
+    private Puzzle puzzle;
+    private int rows;
+    private int columns;
+    private int maxValue;
+
+    @Setup
+    public void setUp() {
+        PuzzleType puzzleType = PuzzleType.valueOf(type);
+        puzzle = new Puzzle(puzzleType);
+        rows = puzzleType.getRows();
+        columns = puzzleType.getColumns();
+        maxValue = puzzleType.getMaxValue();
+        // Fill the diagonal so that the checks have something to find
+        for(int i = 0; i < rows; i++) {
+            puzzle.makeMove(i, i, i + 1, false);
+        }
+    }
+
+    /**
+     * Checks every value in every slot of the board.
+     */
+    @Benchmark
+    public void isValidMove(Blackhole blackhole) {
+        for(int r = 0; r < rows; r++) {
+            for(int c = 0; c < columns; c++) {
+                for(int v = 1; v <= maxValue; v++) {
+                    blackhole.consume(puzzle.isValidMove(r, c, v));
+                }
+            }
+        }
+    }
+
+    /**
+     * Places and removes a value in every empty slot of the board.
+     */
+    @Benchmark
+    public Puzzle makeMove() {
+        for(int r = 0; r < rows; r++) {
+            for(int c = 0; c < columns; c++) {
+                if(r != c) {
+                    int value = (r + c) % maxValue + 1;
+                    puzzle.makeMove(r, c, value, true);
+                    puzzle.makeSlotEmpty(r, c);
+                }
+            }
+        }
+        return puzzle;
+    }
+}
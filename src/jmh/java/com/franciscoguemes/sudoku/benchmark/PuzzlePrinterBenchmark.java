@@ -0,0 +1,61 @@
+package com.franciscoguemes.sudoku.benchmark;
+
+import com.franciscoguemes.sudoku.model.Generator;
+import com.franciscoguemes.sudoku.model.Puzzle;
+import com.franciscoguemes.sudoku.model.PuzzleType;
+import com.franciscoguemes.sudoku.textui.InternalValuesPuzzlePrinter;
+import com.franciscoguemes.sudoku.textui.PuzzlePrinter;
+import com.franciscoguemes.sudoku.textui.StandardPuzzlePrinter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PuzzlePrinterBenchmark {
+
+    @Param({"SUDOKU", "BIG_SUDOKU"})
+    private String type;
+
+    private final PuzzlePrinter standardPrinter = new StandardPuzzlePrinter();
+    private final PuzzlePrinter internalValuesPrinter = new InternalValuesPuzzlePrinter();
+    private final StringBuilder output = new StringBuilder();
+    private Puzzle puzzle;
+
+    @Setup
+    public void setUp() {
+        puzzle = new Generator().generateRandomSudoku(PuzzleType.valueOf(type));
+    }
+
+    @Benchmark
+    public String renderStandard() {
+        return standardPrinter.render(puzzle);
+    }
+
+    @Benchmark
+    public String renderInternalValues() {
+        return internalValuesPrinter.render(puzzle);
+    }
+
+    @Benchmark
+    public StringBuilder renderInternalValuesToAppendable() throws IOException {
+        output.setLength(0);
+        internalValuesPrinter.render(puzzle, output);
+        return output;
+    }
+}
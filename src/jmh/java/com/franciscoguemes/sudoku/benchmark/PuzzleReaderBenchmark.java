@@ -0,0 +1,60 @@
+package com.franciscoguemes.sudoku.benchmark;
+
+import com.franciscoguemes.sudoku.io.CsvPuzzleReader;
+import com.franciscoguemes.sudoku.io.PuzzleReader;
+import com.franciscoguemes.sudoku.io.SudokuFormatPuzzleReader;
+import com.franciscoguemes.sudoku.model.Puzzle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PuzzleReaderBenchmark {
+
+    private final PuzzleReader csvReader = new CsvPuzzleReader();
+    private final PuzzleReader sudokuReader = new SudokuFormatPuzzleReader();
+    private byte[] csv;
+    private byte[] sudoku;
+
+    @Setup
+    public void setUp() throws IOException {
+        csv = load("/Hardest_in_the_world.csv");
+        sudoku = load("/Hardest_in_the_world.sudoku");
+    }
+
+    @Benchmark
+    public Puzzle readCsv() throws IOException {
+        return csvReader.read(new ByteArrayInputStream(csv));
+    }
+
+    @Benchmark
+    public Puzzle readSudoku() throws IOException {
+        return sudokuReader.read(new ByteArrayInputStream(sudoku));
+    }
+
+    private byte[] load(String resource) throws IOException {
+        try(InputStream is = getClass().getResourceAsStream(resource)) {
+            if(is == null) {
+                throw new IOException("Resource not found: " + resource);
+            }
+            return is.readAllBytes();
+        }
+    }
+}
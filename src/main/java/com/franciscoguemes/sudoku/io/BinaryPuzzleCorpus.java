@@ -0,0 +1,97 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.BoardGeometry;
+import com.franciscoguemes.sudoku.model.Puzzle;
+import com.franciscoguemes.sudoku.model.PuzzleType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped view of a binary puzzle file that decodes any puzzle by its index.
+ * <p>
+ * The file is mapped with {@link FileChannel#map} in chunks of whole records, so files larger than 2 GB
+ * are supported, and only the pages of the records actually read are loaded. Reads use absolute
+ * positions, so a corpus can be shared between threads.
+ */
+public final class BinaryPuzzleCorpus {
+
+    // Largest mapping of whole records that fits in a ByteBuffer
+    private static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+
+    private final BoardGeometry geometry;
+    private final int recordSize;
+    private final long size;
+    private final int recordsPerChunk;
+    private final MappedByteBuffer[] chunks;
+
+    private BinaryPuzzleCorpus(BoardGeometry geometry, long size, MappedByteBuffer[] chunks, int recordsPerChunk) {
+        this.geometry = geometry;
+        this.recordSize = BinaryPuzzleFormat.recordSize(geometry);
+        this.size = size;
+        this.chunks = chunks;
+        this.recordsPerChunk = recordsPerChunk;
+    }
+
+    public static BinaryPuzzleCorpus open(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(BinaryPuzzleFormat.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            BoardGeometry geometry = BinaryPuzzleFormat.readHeader(header);
+
+            int recordSize = BinaryPuzzleFormat.recordSize(geometry);
+            long size = (channel.size() - BinaryPuzzleFormat.HEADER_SIZE) / recordSize;
+            int recordsPerChunk = (int) (MAX_CHUNK_SIZE / recordSize);
+            int chunkCount = (int) ((size + recordsPerChunk - 1) / recordsPerChunk);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long first = (long) i * recordsPerChunk;
+                long records = Math.min(recordsPerChunk, size - first);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        BinaryPuzzleFormat.HEADER_SIZE + first * recordSize, records * recordSize);
+            }
+            return new BinaryPuzzleCorpus(geometry, size, chunks, recordsPerChunk);
+        }
+    }
+
+    /**
+     * @return the standard game of the puzzles, or null if their board is not one of them
+     */
+    public PuzzleType getPuzzleType() {
+        return PuzzleType.of(geometry);
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * @return the number of puzzles in the file
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @throws UncheckedIOException if the record of the puzzle is corrupt
+     */
+    public Puzzle get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Puzzle " + index + " out of range: the file has " + size + " puzzles");
+        }
+        MappedByteBuffer chunk = chunks[(int) (index / recordsPerChunk)];
+        try {
+            return BinaryPuzzleFormat.decode(geometry, chunk, (int) (index % recordsPerChunk) * recordSize, index);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.BoardGeometry;
+import com.franciscoguemes.sudoku.model.Puzzle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Layout of the binary puzzle files.
+ * <p>
+ * A file is a header followed by fixed-size records, one per puzzle. The header holds the magic number,
+ * the format version and the {@link BoardGeometry} of the board. A record holds the slots in row-major
+ * order, packed with just enough bits for the values (0 for an empty slot, else value - minValue + 1,
+ * so 4 bits for 9x9 and 5 bits for 16x16), followed by a bitmask of the given slots. Both parts start on
+ * a byte boundary and the bits are written most significant first. Multi-byte fields are big-endian.
+ */
+final class BinaryPuzzleFormat {
+
+    static final int MAGIC = 0x53444B42; // "SDKB"
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    private BinaryPuzzleFormat() {
+    }
+
+    static int bitsPerSlot(BoardGeometry geometry) {
+        int values = geometry.getMaxValue() - geometry.getMinValue() + 1;
+        return Integer.SIZE - Integer.numberOfLeadingZeros(values);
+    }
+
+    static int slots(BoardGeometry geometry) {
+        return geometry.getRows() * geometry.getColumns();
+    }
+
+    static int valuesSize(BoardGeometry geometry) {
+        return (slots(geometry) * bitsPerSlot(geometry) + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    static int recordSize(BoardGeometry geometry) {
+        return valuesSize(geometry) + (slots(geometry) + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    static void writeHeader(BoardGeometry geometry, ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.put((byte) geometry.getRows());
+        buffer.put((byte) geometry.getColumns());
+        buffer.put((byte) geometry.getBoxWidth());
+        buffer.put((byte) geometry.getBoxHeight());
+        buffer.put((byte) geometry.getMinValue());
+        buffer.put((byte) geometry.getMaxValue());
+        buffer.put((byte) bitsPerSlot(geometry));
+        buffer.putShort((short) recordSize(geometry));
+        buffer.putShort((short) 0);
+    }
+
+    /**
+     * Reads the header at the position of the buffer.
+     */
+    static BoardGeometry readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a binary puzzle file");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary puzzle format version: " + version);
+        }
+        int rows = buffer.get();
+        int columns = buffer.get();
+        int boxWidth = buffer.get();
+        int boxHeight = buffer.get();
+        int minValue = buffer.get();
+        int maxValue = buffer.get();
+        int bits = buffer.get();
+        int recordSize = buffer.getShort();
+        buffer.getShort();
+
+        BoardGeometry geometry;
+        try {
+            geometry = BoardGeometry.of(boxWidth, boxHeight);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unsupported puzzle dimensions: " + rows + "x" + columns, e);
+        }
+        if (geometry.getRows() != rows || geometry.getColumns() != columns
+                || geometry.getMinValue() != minValue || geometry.getMaxValue() != maxValue) {
+            throw new IOException("Unsupported puzzle dimensions: " + rows + "x" + columns);
+        }
+        if (bits != bitsPerSlot(geometry) || recordSize != recordSize(geometry)) {
+            throw new IOException("Corrupt binary puzzle header: unexpected record layout");
+        }
+        return geometry;
+    }
+
+    /**
+     * Writes the record of the puzzle into record[0..recordSize).
+     */
+    static void encode(Puzzle puzzle, byte[] record) {
+        final BoardGeometry geometry = puzzle.getGeometry();
+        final int COLUMNS = geometry.getColumns();
+        final int BITS = bitsPerSlot(geometry);
+        final int GIVENS = valuesSize(geometry);
+        Arrays.fill(record, 0, recordSize(geometry), (byte) 0);
+
+        for (int slot = 0; slot < slots(geometry); slot++) {
+            int row = slot / COLUMNS;
+            int col = slot % COLUMNS;
+            int value = puzzle.getValue(row, col);
+            if (value == Puzzle.NO_VALUE) {
+                continue;
+            }
+            int code = value - geometry.getMinValue() + 1;
+            int bit = slot * BITS;
+            for (int i = BITS - 1; i >= 0; i--, bit++) {
+                if (((code >>> i) & 1) != 0) {
+                    record[bit >>> 3] |= (byte) (0x80 >>> (bit & 7));
+                }
+            }
+            if (!puzzle.isSlotMutable(row, col)) {
+                record[GIVENS + (slot >>> 3)] |= (byte) (0x80 >>> (slot & 7));
+            }
+        }
+    }
+
+    /**
+     * Decodes the record that starts at the given absolute offset of the buffer, without moving its position.
+     * @param index position of the record in the file, for the error message
+     * @throws IOException if a value is out of range or repeats in a row, column or box
+     */
+    static Puzzle decode(BoardGeometry geometry, ByteBuffer buffer, int offset, long index) throws IOException {
+        final int VALUES = geometry.getMaxValue() - geometry.getMinValue() + 1;
+        final int COLUMNS = geometry.getColumns();
+        final int BITS = bitsPerSlot(geometry);
+        final int GIVENS = offset + valuesSize(geometry);
+        Puzzle puzzle = new Puzzle(geometry);
+
+        int bit = 0;
+        for (int slot = 0; slot < slots(geometry); slot++) {
+            int code = 0;
+            for (int i = 0; i < BITS; i++, bit++) {
+                code = (code << 1) | ((buffer.get(offset + (bit >>> 3)) >>> (7 - (bit & 7))) & 1);
+            }
+            if (code != 0) {
+                int row = slot / COLUMNS;
+                int col = slot % COLUMNS;
+                int value = code - 1 + geometry.getMinValue();
+                if (code > VALUES || !puzzle.isValidMove(row, col, value)) {
+                    throw new IOException("Corrupt binary puzzle record " + index + ": invalid value " + value
+                            + " at row " + row + ", column " + col);
+                }
+                boolean given = ((buffer.get(GIVENS + (slot >>> 3)) >>> (7 - (slot & 7))) & 1) != 0;
+                puzzle.makeMove(row, col, value, !given);
+            }
+        }
+        return puzzle;
+    }
+}
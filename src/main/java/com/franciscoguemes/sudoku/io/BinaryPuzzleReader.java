@@ -0,0 +1,125 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.BoardGeometry;
+import com.franciscoguemes.sudoku.model.Puzzle;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads puzzles written by {@link BinaryPuzzleWriter}. Reading a stream returns its first puzzle;
+ * use {@link #open(Path)} to access any puzzle of a file without reading the whole file.
+ */
+public class BinaryPuzzleReader implements PuzzleReader {
+
+    @Override
+    public Puzzle read(InputStream inputStream) throws IOException {
+        PuzzleReadEvent event = new PuzzleReadEvent();
+        event.begin();
+        try (inputStream) {
+            ByteBuffer header = ByteBuffer.wrap(inputStream.readNBytes(BinaryPuzzleFormat.HEADER_SIZE));
+            BoardGeometry geometry = BinaryPuzzleFormat.readHeader(header);
+
+            int recordSize = BinaryPuzzleFormat.recordSize(geometry);
+            byte[] record = inputStream.readNBytes(recordSize);
+            if (record.length < recordSize) {
+                throw new IOException("Empty puzzle file");
+            }
+            Puzzle puzzle = BinaryPuzzleFormat.decode(geometry, ByteBuffer.wrap(record), 0, 0);
+            event.commit(this, BinaryPuzzleFormat.HEADER_SIZE + recordSize, 1);
+            return puzzle;
+        }
+    }
+
+    @Override
+    public Stream<Puzzle> readAll(InputStream inputStream) {
+        PuzzleReadEvent event = new PuzzleReadEvent();
+        event.begin();
+        InputStream input = new BufferedInputStream(inputStream);
+        RecordIterator iterator = new RecordIterator(input);
+        Spliterator<Puzzle> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            event.commit(this, iterator.bytesRead, iterator.count);
+            try {
+                input.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Memory-maps a binary puzzle file.
+     */
+    public BinaryPuzzleCorpus open(Path filePath) throws IOException {
+        return BinaryPuzzleCorpus.open(filePath);
+    }
+
+    /**
+     * Decodes the records one after the other into a reused buffer; the header is read with the first record.
+     */
+    private static final class RecordIterator implements Iterator<Puzzle> {
+
+        private final InputStream inputStream;
+        private BoardGeometry geometry;
+        private ByteBuffer record;
+        private Puzzle next;
+        private long bytesRead;
+        private int count;
+
+        RecordIterator(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = readNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Puzzle next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Puzzle puzzle = next;
+            next = null;
+            count++;
+            return puzzle;
+        }
+
+        private Puzzle readNext() throws IOException {
+            if (geometry == null) {
+                geometry = BinaryPuzzleFormat.readHeader(ByteBuffer.wrap(inputStream.readNBytes(BinaryPuzzleFormat.HEADER_SIZE)));
+                record = ByteBuffer.allocate(BinaryPuzzleFormat.recordSize(geometry));
+                bytesRead += BinaryPuzzleFormat.HEADER_SIZE;
+            }
+            int read = inputStream.readNBytes(record.array(), 0, record.capacity());
+            bytesRead += read;
+            if (read == 0) {
+                return null;
+            }
+            if (read < record.capacity()) {
+                throw new IOException("Truncated binary puzzle file");
+            }
+            return BinaryPuzzleFormat.decode(geometry, record, 0, count);
+        }
+    }
+}
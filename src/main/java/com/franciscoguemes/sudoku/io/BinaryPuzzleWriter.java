@@ -0,0 +1,70 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.BoardGeometry;
+import com.franciscoguemes.sudoku.model.Puzzle;
+import com.franciscoguemes.sudoku.model.PuzzleType;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes puzzles of one {@link BoardGeometry} in the binary format read by {@link BinaryPuzzleReader}:
+ * the header is written when the board is known and each puzzle takes one fixed-size record.
+ * All the puzzles of a file have the same board.
+ */
+public class BinaryPuzzleWriter implements PuzzleWriter {
+
+    private final OutputStream outputStream;
+    private BoardGeometry geometry;
+    private byte[] record;
+
+    /**
+     * Creates a writer that takes the board of the first puzzle written. Nothing is written
+     * if the writer is closed before writing any puzzle.
+     */
+    public BinaryPuzzleWriter(OutputStream outputStream) {
+        this.outputStream = new BufferedOutputStream(outputStream);
+    }
+
+    public BinaryPuzzleWriter(OutputStream outputStream, PuzzleType puzzleType) throws IOException {
+        this(outputStream, puzzleType.getGeometry());
+    }
+
+    public BinaryPuzzleWriter(OutputStream outputStream, BoardGeometry geometry) throws IOException {
+        this(outputStream);
+        writeHeader(geometry);
+    }
+
+    @Override
+    public void write(Puzzle puzzle) throws IOException {
+        if (geometry == null) {
+            writeHeader(puzzle.getGeometry());
+        }
+        if (!puzzle.getGeometry().equals(geometry)) {
+            throw new IllegalArgumentException("Expected a puzzle of " + geometry + " but got one of " + puzzle.getGeometry());
+        }
+        BinaryPuzzleFormat.encode(puzzle, record);
+        outputStream.write(record);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
+    }
+
+    private void writeHeader(BoardGeometry geometry) throws IOException {
+        this.geometry = geometry;
+        this.record = new byte[BinaryPuzzleFormat.recordSize(geometry)];
+
+        ByteBuffer header = ByteBuffer.allocate(BinaryPuzzleFormat.HEADER_SIZE);
+        BinaryPuzzleFormat.writeHeader(geometry, header);
+        this.outputStream.write(header.array());
+    }
+}
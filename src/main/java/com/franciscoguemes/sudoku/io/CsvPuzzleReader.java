@@ -1,81 +1,60 @@
 package com.franciscoguemes.sudoku.io;
 
 import com.franciscoguemes.sudoku.model.Puzzle;
-import com.franciscoguemes.sudoku.model.PuzzleType;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
 
-public class CsvPuzzleReader implements PuzzleReader {
+/**
+ * Reads puzzles written as comma separated values, one row per line. Empty values are empty slots.
+ * Several puzzles in one file are separated by a {@link #DELIMITER} line.
+ */
+public class CsvPuzzleReader extends TextPuzzleReader {
 
     public static final String SEPARATOR = ",";
+    public static final String DELIMITER = "---";
 
     @Override
-    public Puzzle read(InputStream inputStream) throws IOException {
-        List<int[]> rows = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) {
-                    continue;
-                }
-
-                String[] tokens = line.split(SEPARATOR, -1);
-                int[] row = new int[tokens.length];
-                for (int i = 0; i < tokens.length; i++) {
-                    String token = tokens[i].trim();
-                    if (token.isEmpty()) {
-                        row[i] = Puzzle.NO_VALUE;
-                    } else {
-                        row[i] = Integer.parseInt(token);
-                    }
-                }
-                rows.add(row);
+    boolean isSeparator(byte[] line, int start, int end) {
+        if (end - start != DELIMITER.length()) {
+            return false;
+        }
+        for (int i = 0; i < DELIMITER.length(); i++) {
+            if (line[start + i] != DELIMITER.charAt(i)) {
+                return false;
             }
         }
-
-        return buildPuzzle(rows);
+        return true;
     }
 
-    private Puzzle buildPuzzle(List<int[]> rows) throws IOException {
-        if (rows.isEmpty()) {
-            throw new IOException("Empty puzzle file");
-        }
-
-        int numRows = rows.size();
-        int numCols = rows.get(0).length;
-
-        PuzzleType puzzleType = inferPuzzleType(numRows, numCols);
-        Puzzle puzzle = new Puzzle(puzzleType);
+    @Override
+    boolean isIgnored(byte[] line, int start, int end) {
+        return start == end;
+    }
 
-        for (int r = 0; r < numRows; r++) {
-            int[] row = rows.get(r);
-            if (row.length != numCols) {
-                throw new IOException("Inconsistent number of columns at row " + r
-                        + ": expected " + numCols + " but got " + row.length);
+    @Override
+    int parseRow(byte[] line, int start, int end, int[] values, int offset) throws IOException {
+        final byte separator = (byte) SEPARATOR.charAt(0);
+        int count = 0;
+        int tokenStart = start;
+        while (tokenStart <= end) {
+            int tokenEnd = tokenStart;
+            while (tokenEnd < end && line[tokenEnd] != separator) {
+                tokenEnd++;
             }
-            for (int c = 0; c < numCols; c++) {
-                if (row[c] != Puzzle.NO_VALUE) {
-                    puzzle.makeMove(r, c, row[c], false);
-                }
+            int next = tokenEnd + 1;
+            while (tokenStart < tokenEnd && isBlank(line[tokenStart])) {
+                tokenStart++;
             }
-        }
-
-        return puzzle;
-    }
-
-    private PuzzleType inferPuzzleType(int rows, int cols) throws IOException {
-        for (PuzzleType type : PuzzleType.values()) {
-            if (type.getRows() == rows && type.getColumns() == cols) {
-                return type;
+            while (tokenEnd > tokenStart && isBlank(line[tokenEnd - 1])) {
+                tokenEnd--;
+            }
+            int value = tokenStart == tokenEnd ? Puzzle.NO_VALUE : parseValue(line, tokenStart, tokenEnd);
+            if (offset + count < values.length) {
+                values[offset + count] = value;
             }
+            count++;
+            tokenStart = next;
         }
-        throw new IOException("Unsupported puzzle dimensions: " + rows + "x" + cols);
+        return count;
     }
 }
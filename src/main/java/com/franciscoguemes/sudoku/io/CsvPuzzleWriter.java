@@ -0,0 +1,42 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.BoardGeometry;
+import com.franciscoguemes.sudoku.model.Puzzle;
+
+import java.io.OutputStream;
+
+/**
+ * Writes puzzles in the format read by {@link CsvPuzzleReader}: one row per line with the values
+ * separated by commas, 0 for the empty slots, and a {@link CsvPuzzleReader#DELIMITER} line between puzzles.
+ */
+public class CsvPuzzleWriter extends TextPuzzleWriter {
+
+    public CsvPuzzleWriter(OutputStream outputStream) {
+        super(outputStream);
+    }
+
+    @Override
+    int writeSeparator(byte[] buffer, int position) {
+        for (int i = 0; i < CsvPuzzleReader.DELIMITER.length(); i++) {
+            buffer[position++] = (byte) CsvPuzzleReader.DELIMITER.charAt(i);
+        }
+        buffer[position++] = '\n';
+        return position;
+    }
+
+    @Override
+    int encode(Puzzle puzzle, byte[] buffer, int position) {
+        final BoardGeometry geometry = puzzle.getGeometry();
+        final byte separator = (byte) CsvPuzzleReader.SEPARATOR.charAt(0);
+        for (int row = 0; row < geometry.getRows(); row++) {
+            for (int col = 0; col < geometry.getColumns(); col++) {
+                if (col > 0) {
+                    buffer[position++] = separator;
+                }
+                position = writeDecimal(puzzle.getValue(row, col), buffer, position);
+            }
+            buffer[position++] = '\n';
+        }
+        return position;
+    }
+}
@@ -0,0 +1,199 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.BoardGeometry;
+import com.franciscoguemes.sudoku.model.Puzzle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads files with one puzzle per line, e.g. 81 characters for a 9x9 puzzle or 256 for a 16x16 one,
+ * where '.' or '0' is an empty slot, '1'-'9' are the values up to 9 and 'A'-'Z' the values 10 to 35,
+ * so boards of up to 35 values, e.g. 25x25, fit the format.
+ * Whitespace inside a line is ignored, as are empty lines and lines starting with '#'.
+ * <p>
+ * The bytes are parsed straight from a reusable buffer without creating strings, and the puzzles
+ * are returned lazily, so files with millions of lines are read with constant memory.
+ */
+public class LinePuzzleReader implements PuzzleReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Override
+    public Puzzle read(InputStream inputStream) throws IOException {
+        PuzzleReadEvent event = new PuzzleReadEvent();
+        event.begin();
+        try (inputStream) {
+            Parser parser = new Parser(inputStream);
+            if (!parser.hasNext()) {
+                throw new IOException("Empty puzzle file");
+            }
+            Puzzle puzzle = parser.next();
+            event.commit(this, parser.bytesRead, 1);
+            return puzzle;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public Stream<Puzzle> readAll(InputStream inputStream) {
+        PuzzleReadEvent event = new PuzzleReadEvent();
+        event.begin();
+        Parser parser = new Parser(inputStream);
+        Spliterator<Puzzle> spliterator = Spliterators.spliteratorUnknownSize(parser,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            event.commit(this, parser.bytesRead, parser.count);
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static final class Parser implements Iterator<Puzzle> {
+
+        private final InputStream inputStream;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private boolean endOfStream;
+
+        // Values of the current line, as parsed from its characters
+        private final int[] line = new int[BoardGeometry.MAX_SIZE * BoardGeometry.MAX_SIZE];
+        private int length;
+        private long lineNumber;
+        private Puzzle next;
+        private long bytesRead;
+        private int count;
+
+        Parser(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = parseNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Puzzle next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Puzzle puzzle = next;
+            next = null;
+            count++;
+            return puzzle;
+        }
+
+        private Puzzle parseNext() throws IOException {
+            while (readLine()) {
+                if (length > 0) {
+                    return buildPuzzle();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Parses the next line into the line buffer, skipping whitespace and comments.
+         * @return false at the end of the stream
+         */
+        private boolean readLine() throws IOException {
+            length = 0;
+            lineNumber++;
+            boolean comment = false;
+            boolean any = false;
+            while (true) {
+                if (position == limit && !fill()) {
+                    return any;
+                }
+                any = true;
+                byte ch = buffer[position++];
+                if (ch == '\n') {
+                    return true;
+                }
+                if (comment || ch == ' ' || ch == '\t' || ch == '\r') {
+                    continue;
+                }
+                if (ch == '#' && length == 0) {
+                    comment = true;
+                    continue;
+                }
+                if (length == line.length) {
+                    throw new IOException("Line " + lineNumber + " is longer than the largest puzzle");
+                }
+                line[length++] = valueOf(ch);
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (endOfStream) {
+                return false;
+            }
+            int read = inputStream.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                endOfStream = true;
+                return false;
+            }
+            position = 0;
+            limit = read;
+            bytesRead += read;
+            return true;
+        }
+
+        private int valueOf(byte ch) throws IOException {
+            if (ch == '.' || ch == '0') {
+                return Puzzle.NO_VALUE;
+            } else if (ch >= '1' && ch <= '9') {
+                return ch - '0';
+            } else if (ch >= 'A' && ch <= 'Z') {
+                return ch - 'A' + 10;
+            } else if (ch >= 'a' && ch <= 'z') {
+                return ch - 'a' + 10;
+            }
+            throw new IOException("Invalid character '" + (char) (ch & 0xFF) + "' at line " + lineNumber);
+        }
+
+        private Puzzle buildPuzzle() throws IOException {
+            BoardGeometry geometry = inferGeometry(length);
+            for (int i = 0; i < length; i++) {
+                if (line[i] > geometry.getMaxValue()) {
+                    throw new IOException("Value " + line[i] + " out of range at line " + lineNumber);
+                }
+            }
+            Puzzle puzzle = new Puzzle(geometry);
+            puzzle.loadGivens(line);
+            return puzzle;
+        }
+
+        private BoardGeometry inferGeometry(int slots) throws IOException {
+            int size = (int) Math.sqrt(slots);
+            if (size * size == slots) {
+                try {
+                    return BoardGeometry.ofSize(size);
+                } catch (IllegalArgumentException e) {
+                    // Reported below
+                }
+            }
+            throw new IOException("Unsupported puzzle size at line " + lineNumber + ": " + slots + " slots");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.BoardGeometry;
+import com.franciscoguemes.sudoku.model.Puzzle;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes puzzles in the format read by {@link LinePuzzleReader}: one puzzle per line, one character
+ * per slot, with '.' for the empty slots, '1'-'9' for the values up to 9 and 'A'-'Z' for 10 to 35.
+ */
+public class LinePuzzleWriter extends TextPuzzleWriter {
+
+    // Character of each value, indexed by the value
+    private static final byte[] GLYPHS = ".123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".getBytes(StandardCharsets.US_ASCII);
+
+    public LinePuzzleWriter(OutputStream outputStream) {
+        super(outputStream);
+    }
+
+    @Override
+    int writeSeparator(byte[] buffer, int position) {
+        return position;
+    }
+
+    @Override
+    int encode(Puzzle puzzle, byte[] buffer, int position) {
+        final BoardGeometry geometry = puzzle.getGeometry();
+        if (geometry.getMaxValue() >= GLYPHS.length) {
+            throw new IllegalArgumentException("The values of a board of " + geometry + " do not fit one character");
+        }
+        for (int row = 0; row < geometry.getRows(); row++) {
+            for (int col = 0; col < geometry.getColumns(); col++) {
+                buffer[position++] = GLYPHS[puzzle.getValue(row, col)];
+            }
+        }
+        buffer[position++] = '\n';
+        return position;
+    }
+}
@@ -0,0 +1,43 @@
+package com.franciscoguemes.sudoku.io;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of one {@link PuzzleReader#read} call, or of a whole {@link PuzzleReader#readAll}
+ * stream, recorded when the stream is closed. The fields are only filled in when the event is going to
+ * be recorded, so with recording off the event costs nothing measurable.
+ */
+@Name("com.franciscoguemes.sudoku.PuzzleRead")
+@Label("Puzzle Read")
+@Category({"Sudoku", "I/O"})
+@Description("Puzzles read from a stream")
+final class PuzzleReadEvent extends Event {
+
+    @Label("Format")
+    @Description("Reader of the format")
+    String format;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytes;
+
+    @Label("Puzzles")
+    int puzzles;
+
+    /**
+     * Records the event if it is enabled and passes the threshold.
+     */
+    void commit(PuzzleReader reader, long bytes, int puzzles) {
+        if (shouldCommit()) {
+            this.format = reader.getClass().getSimpleName();
+            this.bytes = bytes;
+            this.puzzles = puzzles;
+            commit();
+        }
+    }
+}
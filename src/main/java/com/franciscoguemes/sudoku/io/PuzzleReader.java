@@ -6,11 +6,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.stream.Stream;
 
 public interface PuzzleReader {
 
     String CSV_EXTENSION = ".csv";
     String SUDOKU_EXTENSION = ".sudoku";
+    String BINARY_EXTENSION = ".sdkb";
+    String LINE_EXTENSION = ".sdm";
 
     Puzzle read(InputStream inputStream) throws IOException;
 
@@ -20,15 +23,33 @@ public interface PuzzleReader {
         }
     }
 
+    /**
+     * Reads all the puzzles of the stream lazily, one at a time, so the input can be a pipe or a
+     * collection larger than the memory. Closing the returned stream closes the input stream.
+     * Errors found while reading are thrown as {@link java.io.UncheckedIOException}.
+     */
+    Stream<Puzzle> readAll(InputStream inputStream);
+
+    /**
+     * Reads all the puzzles of the file lazily. The returned stream must be closed to close the file.
+     */
+    default Stream<Puzzle> readAll(Path filePath) throws IOException {
+        return readAll(Files.newInputStream(filePath));
+    }
+
     static PuzzleReader getReaderForFile(Path filePath) throws IOException {
         String fileName = filePath.getFileName().toString().toLowerCase();
         if (fileName.endsWith(CSV_EXTENSION)) {
             return new CsvPuzzleReader();
         } else if (fileName.endsWith(SUDOKU_EXTENSION)) {
             return new SudokuFormatPuzzleReader();
+        } else if (fileName.endsWith(BINARY_EXTENSION)) {
+            return new BinaryPuzzleReader();
+        } else if (fileName.endsWith(LINE_EXTENSION)) {
+            return new LinePuzzleReader();
         }
 
         throw new IOException("Unsupported file format: " + filePath.getFileName()
-                + ". Supported formats: " + CSV_EXTENSION + ", " + SUDOKU_EXTENSION );
+                + ". Supported formats: " + CSV_EXTENSION + ", " + SUDOKU_EXTENSION + ", " + BINARY_EXTENSION + ", " + LINE_EXTENSION);
     }
 }
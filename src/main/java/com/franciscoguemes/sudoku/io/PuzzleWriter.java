@@ -0,0 +1,46 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.Puzzle;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes puzzles, one after the other, in the format read by the matching {@link PuzzleReader}.
+ * Writers are buffered: the output is only complete once the writer is flushed or closed.
+ */
+public interface PuzzleWriter extends Closeable, Flushable {
+
+    void write(Puzzle puzzle) throws IOException;
+
+    default void writeAll(Stream<Puzzle> puzzles) throws IOException {
+        for (Iterator<Puzzle> iterator = puzzles.iterator(); iterator.hasNext(); ) {
+            write(iterator.next());
+        }
+    }
+
+    /**
+     * Creates the file, or truncates it, and returns the writer for its extension.
+     */
+    static PuzzleWriter getWriterForFile(Path filePath) throws IOException {
+        String fileName = filePath.getFileName().toString().toLowerCase();
+        if (fileName.endsWith(PuzzleReader.CSV_EXTENSION)) {
+            return new CsvPuzzleWriter(Files.newOutputStream(filePath));
+        } else if (fileName.endsWith(PuzzleReader.SUDOKU_EXTENSION)) {
+            return new SudokuFormatPuzzleWriter(Files.newOutputStream(filePath));
+        } else if (fileName.endsWith(PuzzleReader.BINARY_EXTENSION)) {
+            return new BinaryPuzzleWriter(Files.newOutputStream(filePath));
+        } else if (fileName.endsWith(PuzzleReader.LINE_EXTENSION)) {
+            return new LinePuzzleWriter(Files.newOutputStream(filePath));
+        }
+
+        throw new IOException("Unsupported file format: " + filePath.getFileName()
+                + ". Supported formats: " + PuzzleReader.CSV_EXTENSION + ", " + PuzzleReader.SUDOKU_EXTENSION
+                + ", " + PuzzleReader.BINARY_EXTENSION + ", " + PuzzleReader.LINE_EXTENSION);
+    }
+}
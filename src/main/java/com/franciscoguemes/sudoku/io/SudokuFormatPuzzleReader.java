@@ -1,82 +1,50 @@
 package com.franciscoguemes.sudoku.io;
 
 import com.franciscoguemes.sudoku.model.Puzzle;
-import com.franciscoguemes.sudoku.model.PuzzleType;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
 
-public class SudokuFormatPuzzleReader implements PuzzleReader {
+/**
+ * Reads puzzles written as whitespace separated values, one row per line, where '.' or '0' is an
+ * empty slot and lines starting with '#' are comments. Several puzzles in one file are separated
+ * by a blank line.
+ */
+public class SudokuFormatPuzzleReader extends TextPuzzleReader {
 
     public static final String DOT = ".";
     public static final String ZERO = "0";
 
     @Override
-    public Puzzle read(InputStream inputStream) throws IOException {
-        List<int[]> rows = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) {
-                    continue;
-                }
-
-                String[] tokens = line.split("\\s+");
-                int[] row = new int[tokens.length];
-                for (int i = 0; i < tokens.length; i++) {
-                    String token = tokens[i];
-                    if (DOT.equals(token) || ZERO.equals(token)) {
-                        row[i] = Puzzle.NO_VALUE;
-                    } else {
-                        row[i] = Integer.parseInt(token);
-                    }
-                }
-                rows.add(row);
-            }
-        }
-
-        return buildPuzzle(rows);
+    boolean isSeparator(byte[] line, int start, int end) {
+        return start == end;
     }
 
-    private Puzzle buildPuzzle(List<int[]> rows) throws IOException {
-        if (rows.isEmpty()) {
-            throw new IOException("Empty puzzle file");
-        }
-
-        int numRows = rows.size();
-        int numCols = rows.get(0).length;
-
-        PuzzleType puzzleType = inferPuzzleType(numRows, numCols);
-        Puzzle puzzle = new Puzzle(puzzleType);
+    @Override
+    boolean isIgnored(byte[] line, int start, int end) {
+        return line[start] == '#';
+    }
 
-        for (int r = 0; r < numRows; r++) {
-            int[] row = rows.get(r);
-            if (row.length != numCols) {
-                throw new IOException("Inconsistent number of columns at row " + r
-                        + ": expected " + numCols + " but got " + row.length);
+    @Override
+    int parseRow(byte[] line, int start, int end, int[] values, int offset) throws IOException {
+        int count = 0;
+        int tokenStart = start;
+        while (tokenStart < end) {
+            int tokenEnd = tokenStart;
+            while (tokenEnd < end && !isBlank(line[tokenEnd])) {
+                tokenEnd++;
             }
-            for (int c = 0; c < numCols; c++) {
-                if (row[c] != Puzzle.NO_VALUE) {
-                    puzzle.makeMove(r, c, row[c], false);
-                }
+            int value = tokenEnd - tokenStart == 1 && line[tokenStart] == DOT.charAt(0)
+                    ? Puzzle.NO_VALUE
+                    : parseValue(line, tokenStart, tokenEnd);
+            if (offset + count < values.length) {
+                values[offset + count] = value;
             }
-        }
-
-        return puzzle;
-    }
-
-    private PuzzleType inferPuzzleType(int rows, int cols) throws IOException {
-        for (PuzzleType type : PuzzleType.values()) {
-            if (type.getRows() == rows && type.getColumns() == cols) {
-                return type;
+            count++;
+            tokenStart = tokenEnd;
+            while (tokenStart < end && isBlank(line[tokenStart])) {
+                tokenStart++;
             }
         }
-        throw new IOException("Unsupported puzzle dimensions: " + rows + "x" + cols);
+        return count;
     }
 }
@@ -0,0 +1,44 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.BoardGeometry;
+import com.franciscoguemes.sudoku.model.Puzzle;
+
+import java.io.OutputStream;
+
+/**
+ * Writes puzzles in the format read by {@link SudokuFormatPuzzleReader}: one row per line with the
+ * values separated by spaces, '.' for the empty slots, and a blank line between puzzles.
+ */
+public class SudokuFormatPuzzleWriter extends TextPuzzleWriter {
+
+    public SudokuFormatPuzzleWriter(OutputStream outputStream) {
+        super(outputStream);
+    }
+
+    @Override
+    int writeSeparator(byte[] buffer, int position) {
+        buffer[position++] = '\n';
+        return position;
+    }
+
+    @Override
+    int encode(Puzzle puzzle, byte[] buffer, int position) {
+        final BoardGeometry geometry = puzzle.getGeometry();
+        final byte dot = (byte) SudokuFormatPuzzleReader.DOT.charAt(0);
+        for (int row = 0; row < geometry.getRows(); row++) {
+            for (int col = 0; col < geometry.getColumns(); col++) {
+                if (col > 0) {
+                    buffer[position++] = ' ';
+                }
+                int value = puzzle.getValue(row, col);
+                if (value == Puzzle.NO_VALUE) {
+                    buffer[position++] = dot;
+                } else {
+                    position = writeDecimal(value, buffer, position);
+                }
+            }
+            buffer[position++] = '\n';
+        }
+        return position;
+    }
+}
@@ -0,0 +1,270 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.BoardGeometry;
+import com.franciscoguemes.sudoku.model.Puzzle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Base of the readers of text formats with one row of the board per line and several puzzles
+ * per file, one after the other with a separator line between them. Boards are square, so a
+ * blank separator only ends a puzzle once it has as many rows as columns.
+ * <p>
+ * Lines are scanned as bytes and their values parsed straight into a buffer of ints, which is
+ * bulk-loaded into the puzzle with {@link Puzzle#loadGivens}, so only the puzzles are allocated.
+ * {@link #read} reuses the buffers of the calling thread from one call to the next and every stream
+ * of {@link #readAll} has its own, so an instance can be shared between threads.
+ */
+abstract class TextPuzzleReader implements PuzzleReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_SLOTS = BoardGeometry.MAX_SIZE * BoardGeometry.MAX_SIZE;
+
+    private final ThreadLocal<Parser> parsers = ThreadLocal.withInitial(Parser::new);
+
+    @Override
+    public Puzzle read(InputStream inputStream) throws IOException {
+        Parser parser = parsers.get();
+        PuzzleReadEvent event = new PuzzleReadEvent();
+        event.begin();
+        try (inputStream) {
+            parser.reset(inputStream);
+            Puzzle puzzle = parser.readNext();
+            if (puzzle == null) {
+                throw new IOException("Empty puzzle file");
+            }
+            event.commit(this, parser.bytesRead, 1);
+            return puzzle;
+        } finally {
+            parser.reset(null);
+        }
+    }
+
+    @Override
+    public Stream<Puzzle> readAll(InputStream inputStream) {
+        PuzzleReadEvent event = new PuzzleReadEvent();
+        event.begin();
+        Parser streamParser = new Parser();
+        streamParser.reset(inputStream);
+        PuzzleIterator iterator = new PuzzleIterator(streamParser);
+        Spliterator<Puzzle> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            event.commit(this, streamParser.bytesRead, iterator.count);
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * @return true if the trimmed line, bytes start to end, ends the current puzzle
+     */
+    abstract boolean isSeparator(byte[] line, int start, int end);
+
+    /**
+     * @return true if the trimmed line is neither a row nor a separator, e.g. a comment
+     */
+    abstract boolean isIgnored(byte[] line, int start, int end);
+
+    /**
+     * Parses the values of the trimmed line into values, from position offset. Values that do
+     * not fit in the array are counted but not stored.
+     * @return the number of values of the row
+     */
+    abstract int parseRow(byte[] line, int start, int end, int[] values, int offset) throws IOException;
+
+    /**
+     * @return the decimal value of the bytes start to end
+     */
+    static int parseValue(byte[] line, int start, int end) throws IOException {
+        if (end - start > 9) {
+            throw invalidValue(line, start, end);
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalidValue(line, start, end);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f';
+    }
+
+    private static IOException invalidValue(byte[] line, int start, int end) {
+        return new IOException("Invalid value '" + new String(line, start, end - start, StandardCharsets.UTF_8) + "'");
+    }
+
+    private static BoardGeometry inferGeometry(int rows, int cols) throws IOException {
+        if (rows == cols) {
+            try {
+                return BoardGeometry.ofSize(rows);
+            } catch (IllegalArgumentException e) {
+                // Reported below
+            }
+        }
+        throw new IOException("Unsupported puzzle dimensions: " + rows + "x" + cols);
+    }
+
+    /**
+     * Splits the input in lines and the lines in puzzles. The buffers only grow, to the longest line.
+     */
+    private final class Parser {
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final int[] values = new int[MAX_SLOTS];
+        private byte[] line = new byte[128];
+        private InputStream in;
+        private int position;
+        private int limit;
+        private int lineLength;
+        private long lineNumber;
+        private long bytesRead;
+
+        void reset(InputStream in) {
+            this.in = in;
+            position = 0;
+            limit = 0;
+            lineNumber = 0;
+            bytesRead = 0;
+        }
+
+        Puzzle readNext() throws IOException {
+            int rows = 0;
+            int cols = 0;
+            int count = 0;
+            while (readLine()) {
+                int start = 0;
+                int end = lineLength;
+                while (start < end && isBlank(line[start])) {
+                    start++;
+                }
+                while (end > start && isBlank(line[end - 1])) {
+                    end--;
+                }
+                if (isSeparator(line, start, end)) {
+                    // A blank separator before the last row of a board is just a blank line
+                    if (rows > 0 && (end > start || rows >= cols)) {
+                        return buildPuzzle(rows, cols);
+                    }
+                } else if (!isIgnored(line, start, end)) {
+                    int n;
+                    try {
+                        n = parseRow(line, start, end, values, count);
+                    } catch (IOException e) {
+                        throw new IOException(e.getMessage() + " at line " + lineNumber, e);
+                    }
+                    if (rows == 0) {
+                        cols = n;
+                    } else if (n != cols) {
+                        throw new IOException("Inconsistent number of columns at row " + rows
+                                + ": expected " + cols + " but got " + n);
+                    }
+                    rows++;
+                    count += n;
+                    if (count > values.length) {
+                        throw new IOException("Unsupported puzzle dimensions: more than " + values.length + " slots");
+                    }
+                }
+            }
+            return rows == 0 ? null : buildPuzzle(rows, cols);
+        }
+
+        private Puzzle buildPuzzle(int rows, int cols) throws IOException {
+            Puzzle puzzle = new Puzzle(inferGeometry(rows, cols));
+            puzzle.loadGivens(values);
+            return puzzle;
+        }
+
+        /**
+         * Copies the next line, without its line terminator, into the line buffer.
+         * @return false at the end of the input
+         */
+        private boolean readLine() throws IOException {
+            lineLength = 0;
+            boolean any = false;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        if (any) {
+                            lineNumber++;
+                        }
+                        return any;
+                    }
+                    bytesRead += limit;
+                }
+                any = true;
+                int newLine = position;
+                while (newLine < limit && buffer[newLine] != '\n') {
+                    newLine++;
+                }
+                int length = newLine - position;
+                if (lineLength + length > line.length) {
+                    line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+                }
+                System.arraycopy(buffer, position, line, lineLength, length);
+                lineLength += length;
+                if (newLine < limit) {
+                    position = newLine + 1;
+                    lineNumber++;
+                    return true;
+                }
+                position = limit;
+            }
+        }
+    }
+
+    private static final class PuzzleIterator implements Iterator<Puzzle> {
+
+        private final Parser parser;
+        private Puzzle next;
+        private int count;
+
+        PuzzleIterator(Parser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = parser.readNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Puzzle next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Puzzle puzzle = next;
+            next = null;
+            count++;
+            return puzzle;
+        }
+    }
+}
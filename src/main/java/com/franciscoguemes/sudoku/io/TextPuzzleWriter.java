@@ -0,0 +1,92 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.BoardGeometry;
+import com.franciscoguemes.sudoku.model.Puzzle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Base of the writers of text formats. Each puzzle is encoded as ASCII bytes straight into a
+ * reusable buffer, which is written to the output stream when the next puzzle might not fit,
+ * so no strings are created and the stream sees a few large writes.
+ * Instances must not be shared between threads.
+ */
+abstract class TextPuzzleWriter implements PuzzleWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream outputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private boolean first = true;
+
+    TextPuzzleWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public void write(Puzzle puzzle) throws IOException {
+        if (position + maxSize(puzzle.getGeometry()) > buffer.length) {
+            flushBuffer();
+        }
+        if (!first) {
+            position = writeSeparator(buffer, position);
+        }
+        position = encode(puzzle, buffer, position);
+        first = false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    /**
+     * Writes what goes between two puzzles.
+     * @return the position after the last byte written
+     */
+    abstract int writeSeparator(byte[] buffer, int position);
+
+    /**
+     * Writes the puzzle, ending with a line terminator.
+     * @return the position after the last byte written
+     */
+    abstract int encode(Puzzle puzzle, byte[] buffer, int position);
+
+    /**
+     * Writes the value in decimal, 0 for the empty slots.
+     * @return the position after the last byte written
+     */
+    static int writeDecimal(int value, byte[] buffer, int position) {
+        if (value >= 10) {
+            buffer[position++] = (byte) ('0' + value / 10);
+        }
+        buffer[position++] = (byte) ('0' + value % 10);
+        return position;
+    }
+
+    /**
+     * Upper bound of the bytes of a puzzle and its separator: at most two digits and a separator per slot.
+     */
+    private static int maxSize(BoardGeometry geometry) {
+        return 3 * geometry.getRows() * geometry.getColumns() + 8;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            outputStream.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Depth-first solver driven by candidate bitmasks.
+ * Naked and hidden singles are placed by a {@link ConstraintPropagator} before the search starts,
+ * which solves most of the easy puzzles without guessing. The search keeps an explicit stack
+ * instead of recursing and always branches on the empty cell with the fewest candidates.
+ * The working state is reused between calls, so an instance must not be shared between threads.
+ */
+public class BacktrackingSolver implements Solver {
+
+    // Number of search steps between two checks of the stop flag and the budget
+    private static final int STOP_CHECK_INTERVAL = 256;
+
+    private final ConstraintPropagator propagator = new ConstraintPropagator();
+    private BoardState board;
+    private BoardState state;
+    private AtomicBoolean stop;
+    private int[] emptyCells;
+    private int numberOfEmptyCells;
+    private int[] stackCells;
+    private long[] stackCandidates;
+    // Counters of the last run
+    private final SearchCounters counters = new SearchCounters();
+    // Budget of the current run, null when unlimited
+    private SearchBudget budget;
+    // Nodes charged to the budget before the current run
+    private long spentNodes;
+    // Whether the last run stopped because the budget ran out
+    private boolean budgetExceeded;
+
+    @Override
+    public boolean solve(Puzzle puzzle) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean solved = solveInPlace(puzzle);
+        SearchMetrics.recordSolverRun(counters, System.nanoTime() - start);
+        event.commit(this, puzzle, SolveResult.statusOf(solved ? 1 : 0, budgetExceeded), solved ? 1 : 0, counters);
+        return solved;
+    }
+
+    @Override
+    public int countSolutions(Puzzle puzzle, int limit) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        counters.reset();
+        budgetExceeded = false;
+        int solutions = limit <= 0 || !prepare(puzzle) ? 0 : search(limit);
+        SearchMetrics.recordSolverRun(counters, System.nanoTime() - start);
+        event.commit(this, puzzle, SolveResult.statusOf(solutions, budgetExceeded), solutions, counters);
+        return solutions;
+    }
+
+    /**
+     * Counts the solutions like {@link #countSolutions(Puzzle, int)} within a budget shared with the
+     * caller, of which spentNodes are already spent. The counters of the run are added to into.
+     * @param budget null when unlimited
+     */
+    SearchOutcome countSolutions(Puzzle puzzle, int limit, SearchBudget budget, long spentNodes, SearchCounters into) {
+        this.budget = budget;
+        this.spentNodes = spentNodes;
+        int solutions;
+        try {
+            solutions = countSolutions(puzzle, limit);
+        } finally {
+            this.budget = null;
+            this.spentNodes = 0;
+        }
+        into.add(counters, 0);
+        return new SearchOutcome(solutions, budgetExceeded);
+    }
+
+    @Override
+    public SolveResult solveWithStats(Puzzle puzzle) {
+        return solve(puzzle, SearchBudget.UNLIMITED);
+    }
+
+    @Override
+    public SolveResult solve(Puzzle puzzle, SearchBudget budget) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        this.budget = budget.isUnlimited() ? null : budget;
+        this.spentNodes = 0;
+        boolean solved;
+        try {
+            solved = solveInPlace(puzzle);
+        } finally {
+            this.budget = null;
+        }
+        long wallTime = System.nanoTime() - start;
+        SearchMetrics.recordSolverRun(counters, wallTime);
+        SolveResult.Status status = SolveResult.statusOf(solved ? 1 : 0, budgetExceeded);
+        event.commit(this, puzzle, status, solved ? 1 : 0, counters);
+        return new SolveResult(status, counters.toStats(wallTime));
+    }
+
+    private boolean solveInPlace(Puzzle puzzle) {
+        counters.reset();
+        budgetExceeded = false;
+        if(!prepare(puzzle) || search(1) == 0) {
+            return false;
+        }
+        state.storeTo(puzzle);
+        return true;
+    }
+
+    /**
+     * Solves the puzzle like {@link #solve(Puzzle)} within a budget shared with the caller, as
+     * {@link #countSolutions(Puzzle, int, SearchBudget, long, SearchCounters)} does.
+     * @param budget null when unlimited
+     */
+    SearchOutcome solve(Puzzle puzzle, SearchBudget budget, long spentNodes, SearchCounters into) {
+        this.budget = budget;
+        this.spentNodes = spentNodes;
+        boolean solved;
+        try {
+            solved = solve(puzzle);
+        } finally {
+            this.budget = null;
+            this.spentNodes = 0;
+        }
+        into.add(counters, 0);
+        return new SearchOutcome(solved ? 1 : 0, budgetExceeded);
+    }
+
+    /**
+     * Counts the solutions of a working state that was already loaded, searching in place.
+     * The search gives up as soon as the stop flag is set, returning the solutions found so far.
+     * When a solution is found with a limit of 1, the working state is left holding it.
+     * The counters of the run are added to into, the run is not recorded in {@link SearchMetrics}.
+     * @param budget shared with the caller, of which spentNodes are already spent, null when unlimited
+     */
+    SearchOutcome countSolutions(BoardState workingState, int limit, AtomicBoolean stopFlag,
+                                 SearchBudget budget, long spentNodes, SearchCounters into) {
+        counters.reset();
+        budgetExceeded = false;
+        int solutions = 0;
+        if(limit > 0 && prepare(workingState)) {
+            this.stop = stopFlag;
+            this.budget = budget;
+            this.spentNodes = spentNodes;
+            try {
+                solutions = search(limit);
+            } finally {
+                this.stop = null;
+                this.budget = null;
+                this.spentNodes = 0;
+            }
+        }
+        into.add(counters, 0);
+        return new SearchOutcome(solutions, budgetExceeded);
+    }
+
+    private boolean prepare(Puzzle puzzle) {
+        if(board == null || !board.geometry.equals(puzzle.getGeometry())) {
+            board = new BoardState(puzzle.getGeometry());
+        }
+        return board.load(puzzle) && prepare(board);
+    }
+
+    private boolean prepare(BoardState workingState) {
+        if(emptyCells == null || emptyCells.length != workingState.numberOfCells) {
+            emptyCells = new int[workingState.numberOfCells];
+            stackCells = new int[workingState.numberOfCells];
+            stackCandidates = new long[workingState.numberOfCells];
+        }
+        state = workingState;
+        long steps = propagator.steps;
+        boolean consistent = propagator.propagate(state);
+        counters.propagationSteps += propagator.steps - steps;
+        if(!consistent) {
+            return false;
+        }
+        numberOfEmptyCells = 0;
+        for(int cell = 0; cell < state.numberOfCells; cell++) {
+            if(state.values[cell] == Puzzle.NO_VALUE) {
+                emptyCells[numberOfEmptyCells++] = cell;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the solutions until the limit is reached. When the limit is reached the working state holds the last solution found.
+     */
+    private int search(int limit) {
+        int solutions = 0;
+        int depth = 0;
+        int steps = 0;
+        while(true) {
+            if((stop != null || budget != null) && ++steps % STOP_CHECK_INTERVAL == 0 && shouldStop()) {
+                return solutions;
+            }
+            if(state.isFull()) {
+                solutions++;
+                if(solutions >= limit) {
+                    return solutions;
+                }
+            } else {
+                int cell = selectCell();
+                if(cell >= 0) {
+                    stackCells[depth] = cell;
+                    stackCandidates[depth] = state.candidates(cell);
+                    depth++;
+                    counters.reachedDepth(depth);
+                }
+            }
+
+            // Place the next candidate of the cell on top of the stack, backtracking when exhausted
+            while(true) {
+                if(depth == 0) {
+                    return solutions;
+                }
+                int top = depth - 1;
+                state.clear(stackCells[top]);
+                long remaining = stackCandidates[top];
+                if(remaining == 0) {
+                    depth--;
+                    counters.backtracks++;
+                    continue;
+                }
+                long bit = remaining & -remaining;
+                stackCandidates[top] = remaining & ~bit;
+                state.place(stackCells[top], state.valueOf(bit));
+                counters.nodes++;
+                break;
+            }
+        }
+    }
+
+    private boolean shouldStop() {
+        if(budget != null && budget.isExhausted(spentNodes + counters.nodes)) {
+            budgetExceeded = true;
+            return true;
+        }
+        return stop != null && stop.get();
+    }
+
+    /**
+     * Finds the empty cell with the fewest candidates.
+     * @return the cell index, or -1 if there is an empty cell without candidates (dead end)
+     */
+    private int selectCell() {
+        int bestCell = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for(int i = 0; i < numberOfEmptyCells; i++) {
+            int cell = emptyCells[i];
+            if(state.values[cell] != Puzzle.NO_VALUE) {
+                continue;
+            }
+            int count = Long.bitCount(state.candidates(cell));
+            if(count < bestCount) {
+                if(count == 0) {
+                    return -1;
+                }
+                bestCell = cell;
+                bestCount = count;
+                if(count == 1) {
+                    break;
+                }
+            }
+        }
+        return bestCell;
+    }
+}
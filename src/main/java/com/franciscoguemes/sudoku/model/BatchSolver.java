@@ -0,0 +1,204 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Solves a stream of puzzles on a fixed pool of threads.
+ * <p>
+ * Every thread keeps its own {@link Solver}, so the solver working state is reused from one puzzle
+ * to the next. Puzzles are solved in place and the results are handed to the consumer in input
+ * order, on the calling thread. Only a bounded window of puzzles is in flight at any time, so the
+ * input can be much larger than the memory. Closing the batch solver also closes the solvers that
+ * own resources, such as a {@link ParallelSolver}.
+ */
+public class BatchSolver implements AutoCloseable {
+
+    // Puzzles in flight per thread
+    private static final int PUZZLES_PER_THREAD = 16;
+
+    private final ExecutorService executor;
+    private final ThreadLocal<Solver> solvers;
+    // Every solver created by the factory, to be closed with the batch solver
+    private final Queue<Solver> created = new ConcurrentLinkedQueue<>();
+    private final int window;
+
+    public BatchSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchSolver(int threads) {
+        this(threads, BacktrackingSolver::new);
+    }
+
+    /**
+     * @param threads number of threads solving at the same time
+     * @param solverFactory creates the solver used by each thread; solvers that are {@link AutoCloseable}
+     *                      are closed by {@link #close()}
+     */
+    public BatchSolver(int threads, Supplier<Solver> solverFactory) {
+        if(threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.solvers = ThreadLocal.withInitial(() -> {
+            Solver solver = solverFactory.get();
+            created.add(solver);
+            return solver;
+        });
+        this.window = threads * PUZZLES_PER_THREAD;
+    }
+
+    public Summary solve(Stream<Puzzle> puzzles, Consumer<Result> consumer) {
+        return solve(puzzles.iterator(), consumer);
+    }
+
+    /**
+     * Solves every puzzle of the iterator, blocking until the last result was consumed.
+     * @return the number of puzzles solved and the throughput of the batch
+     */
+    public Summary solve(Iterator<Puzzle> puzzles, Consumer<Result> consumer) {
+        long start = System.nanoTime();
+        ArrayDeque<Future<Result>> pending = new ArrayDeque<>(window);
+        long index = 0;
+        long count = 0;
+        long solved = 0;
+
+        try {
+            while(puzzles.hasNext() || !pending.isEmpty()) {
+                while(pending.size() < window && puzzles.hasNext()) {
+                    pending.add(submit(index++, puzzles.next()));
+                }
+                Result result = pending.poll().get();
+                count++;
+                if(result.isSolved()) {
+                    solved++;
+                }
+                consumer.accept(result);
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch solve interrupted", e);
+        } catch(ExecutionException e) {
+            throw new IllegalStateException("Batch solve failed", e.getCause());
+        } finally {
+            for(Future<Result> future : pending) {
+                future.cancel(true);
+            }
+        }
+
+        return new Summary(count, solved, System.nanoTime() - start);
+    }
+
+    /**
+     * Stops the threads, waits for the solves in progress to finish and closes the solvers that
+     * are {@link AutoCloseable}.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            while(!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                // Solvers do not check for interrupts, so wait for the current solves to end
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        IllegalStateException failure = null;
+        for(Solver solver : created) {
+            if(solver instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) solver).close();
+                } catch(Exception e) {
+                    if(failure == null) {
+                        failure = new IllegalStateException("Closing a solver failed", e);
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        created.clear();
+        if(failure != null) {
+            throw failure;
+        }
+    }
+
+    private Future<Result> submit(long index, Puzzle puzzle) {
+        return executor.submit(() -> new Result(index, puzzle, solvers.get().solve(puzzle)));
+    }
+
+    public static final class Result {
+
+        private final long index;
+        private final Puzzle puzzle;
+        private final boolean solved;
+
+        Result(long index, Puzzle puzzle, boolean solved) {
+            this.index = index;
+            this.puzzle = puzzle;
+            this.solved = solved;
+        }
+
+        /**
+         * @return the position of the puzzle in the input, starting at 0
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        public Puzzle getPuzzle() {
+            return puzzle;
+        }
+
+        public boolean isSolved() {
+            return solved;
+        }
+    }
+
+    public static final class Summary {
+
+        private final long puzzles;
+        private final long solved;
+        private final long elapsedNanos;
+
+        Summary(long puzzles, long solved, long elapsedNanos) {
+            this.puzzles = puzzles;
+            this.solved = solved;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getPuzzles() {
+            return puzzles;
+        }
+
+        public long getSolved() {
+            return solved;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getPuzzlesPerSecond() {
+            return elapsedNanos == 0 ? 0 : puzzles * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d puzzles (%d solved) in %.3f s: %.1f puzzles/s",
+                    puzzles, solved, elapsedNanos / 1_000_000_000.0, getPuzzlesPerSecond());
+        }
+    }
+}
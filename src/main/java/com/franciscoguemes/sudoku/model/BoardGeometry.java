@@ -0,0 +1,100 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * Shape of a board: a square of boxHeight x boxWidth boxes holding the values 1 to the size.
+ * The standard games of {@link PuzzleType} have one each; other boards, e.g. 25x25 or 36x36,
+ * are created at runtime with {@link #of(int, int)} or {@link #ofSize(int)}.
+ * <p>
+ * Geometries are immutable values: two geometries with the same boxes are equal.
+ */
+public final class BoardGeometry {
+
+    /**
+     * Largest number of values of a board: candidate sets are bitmasks in a long.
+     */
+    public static final int MAX_SIZE = Long.SIZE;
+
+    private final int rows;
+    private final int columns;
+    private final int boxWidth;
+    private final int boxHeight;
+    private final int minValue;
+    private final int maxValue;
+
+    private BoardGeometry(int boxWidth, int boxHeight) {
+        this.rows = boxWidth * boxHeight;
+        this.columns = boxWidth * boxHeight;
+        this.boxWidth = boxWidth;
+        this.boxHeight = boxHeight;
+        this.minValue = 1;
+        this.maxValue = boxWidth * boxHeight;
+    }
+
+    /**
+     * @return the board of boxWidth x boxHeight boxes, with boxWidth * boxHeight rows, columns and values
+     */
+    public static BoardGeometry of(int boxWidth, int boxHeight) {
+        if(boxWidth < 2 || boxHeight < 2 || boxWidth * boxHeight > MAX_SIZE) {
+            throw new IllegalArgumentException("Unsupported boxes of " + boxWidth + "x" + boxHeight
+                    + ": boards go up to " + MAX_SIZE + " values");
+        }
+        return new BoardGeometry(boxWidth, boxHeight);
+    }
+
+    /**
+     * @return the board of that size whose boxes are the closest to squares, wider than tall,
+     *         e.g. 3x2 boxes for 6x6 boards or 5x5 boxes for 25x25 boards
+     */
+    public static BoardGeometry ofSize(int size) {
+        int boxHeight = (int) Math.sqrt(size);
+        while(boxHeight > 1 && size % boxHeight != 0) {
+            boxHeight--;
+        }
+        if(boxHeight < 2) {
+            throw new IllegalArgumentException("Unsupported board size " + size + ": it has no boxes");
+        }
+        return of(size / boxHeight, boxHeight);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getBoxWidth() {
+        return boxWidth;
+    }
+
+    public int getBoxHeight() {
+        return boxHeight;
+    }
+
+    public int getMinValue() {
+        return minValue;
+    }
+
+    public int getMaxValue() {
+        return maxValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof BoardGeometry)) return false;
+        BoardGeometry other = (BoardGeometry) o;
+        return boxWidth == other.boxWidth && boxHeight == other.boxHeight;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * boxWidth + boxHeight;
+    }
+
+    @Override
+    public String toString() {
+        return rows + "x" + columns + " with " + boxWidth + "x" + boxHeight + " boxes";
+    }
+}
@@ -0,0 +1,190 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Flat, mutable working copy of a puzzle used by the solving engines.
+ * Cells are indexed in row-major order and every row, column and box keeps a bitmask of
+ * the values already used, where bit (value - minValue) represents a value.
+ */
+final class BoardState {
+
+    final BoardGeometry geometry;
+    final int numberOfCells;
+    final int numberOfValues;
+    final long allValues;
+
+    final int[] cellRow;
+    final int[] cellCol;
+    final int[] cellBox;
+    // Units are the rows, then the columns, then the boxes
+    final int numberOfUnits;
+    final int[][] unitCells;
+
+    final int[] values;
+    final long[] rowUsed;
+    final long[] colUsed;
+    final long[] boxUsed;
+    int filled;
+
+    BoardState(BoardGeometry geometry) {
+        this.geometry = geometry;
+        final int ROWS = geometry.getRows();
+        final int COLUMNS = geometry.getColumns();
+        final int BOXHEIGHT = geometry.getBoxHeight();
+        final int BOXWIDTH = geometry.getBoxWidth();
+        final int boxesPerRow = COLUMNS / BOXWIDTH;
+
+        this.numberOfCells = ROWS * COLUMNS;
+        this.numberOfValues = geometry.getMaxValue() - geometry.getMinValue() + 1;
+        this.allValues = -1L >>> (Long.SIZE - numberOfValues);
+
+        this.cellRow = new int[numberOfCells];
+        this.cellCol = new int[numberOfCells];
+        this.cellBox = new int[numberOfCells];
+        for(int r = 0; r < ROWS; r++) {
+            for(int c = 0; c < COLUMNS; c++) {
+                int cell = r * COLUMNS + c;
+                cellRow[cell] = r;
+                cellCol[cell] = c;
+                cellBox[cell] = (r / BOXHEIGHT) * boxesPerRow + (c / BOXWIDTH);
+            }
+        }
+
+        final int BOXES = (ROWS / BOXHEIGHT) * boxesPerRow;
+        this.numberOfUnits = ROWS + COLUMNS + BOXES;
+        this.unitCells = new int[numberOfUnits][];
+        int[] unitSizes = new int[numberOfUnits];
+        for(int u = 0; u < numberOfUnits; u++) {
+            unitCells[u] = new int[u < ROWS ? COLUMNS : u < ROWS + COLUMNS ? ROWS : BOXHEIGHT * BOXWIDTH];
+        }
+        for(int cell = 0; cell < numberOfCells; cell++) {
+            int rowUnit = cellRow[cell];
+            int colUnit = ROWS + cellCol[cell];
+            int boxUnit = ROWS + COLUMNS + cellBox[cell];
+            unitCells[rowUnit][unitSizes[rowUnit]++] = cell;
+            unitCells[colUnit][unitSizes[colUnit]++] = cell;
+            unitCells[boxUnit][unitSizes[boxUnit]++] = cell;
+        }
+
+        this.values = new int[numberOfCells];
+        this.rowUsed = new long[ROWS];
+        this.colUsed = new long[COLUMNS];
+        this.boxUsed = new long[BOXES];
+    }
+
+    BoardState(BoardState other) {
+        this.geometry = other.geometry;
+        this.numberOfCells = other.numberOfCells;
+        this.numberOfValues = other.numberOfValues;
+        this.allValues = other.allValues;
+        this.cellRow = other.cellRow;
+        this.cellCol = other.cellCol;
+        this.cellBox = other.cellBox;
+        this.numberOfUnits = other.numberOfUnits;
+        this.unitCells = other.unitCells;
+        this.values = other.values.clone();
+        this.rowUsed = other.rowUsed.clone();
+        this.colUsed = other.colUsed.clone();
+        this.boxUsed = other.boxUsed.clone();
+        this.filled = other.filled;
+    }
+
+    /**
+     * Replaces the content of this state with the values of the puzzle.
+     * @return false if the puzzle contains two equal values in the same row, column or box
+     */
+    boolean load(Puzzle puzzle) {
+        clearAll();
+        final int COLUMNS = geometry.getColumns();
+        for(int cell = 0; cell < numberOfCells; cell++) {
+            int value = puzzle.getValue(cell / COLUMNS, cell % COLUMNS);
+            if(value != Puzzle.NO_VALUE) {
+                if((candidates(cell) & bit(value)) == 0) {
+                    return false;
+                }
+                place(cell, value);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the values of this state into the empty slots of the puzzle as mutable moves.
+     */
+    void storeTo(Puzzle puzzle) {
+        final int COLUMNS = geometry.getColumns();
+        for(int cell = 0; cell < numberOfCells; cell++) {
+            int row = cell / COLUMNS;
+            int col = cell % COLUMNS;
+            if(values[cell] != Puzzle.NO_VALUE && puzzle.getValue(row, col) == Puzzle.NO_VALUE) {
+                puzzle.makeMove(row, col, values[cell], true);
+            }
+        }
+    }
+
+    void copyFrom(BoardState other) {
+        System.arraycopy(other.values, 0, values, 0, numberOfCells);
+        System.arraycopy(other.rowUsed, 0, rowUsed, 0, rowUsed.length);
+        System.arraycopy(other.colUsed, 0, colUsed, 0, colUsed.length);
+        System.arraycopy(other.boxUsed, 0, boxUsed, 0, boxUsed.length);
+        filled = other.filled;
+    }
+
+    long candidates(int cell) {
+        return ~(rowUsed[cellRow[cell]] | colUsed[cellCol[cell]] | boxUsed[cellBox[cell]]) & allValues;
+    }
+
+    void place(int cell, int value) {
+        long bit = bit(value);
+        values[cell] = value;
+        rowUsed[cellRow[cell]] |= bit;
+        colUsed[cellCol[cell]] |= bit;
+        boxUsed[cellBox[cell]] |= bit;
+        filled++;
+    }
+
+    void clear(int cell) {
+        int value = values[cell];
+        if(value != Puzzle.NO_VALUE) {
+            long bit = ~bit(value);
+            values[cell] = Puzzle.NO_VALUE;
+            rowUsed[cellRow[cell]] &= bit;
+            colUsed[cellCol[cell]] &= bit;
+            boxUsed[cellBox[cell]] &= bit;
+            filled--;
+        }
+    }
+
+    int rowUnit(int cell) {
+        return cellRow[cell];
+    }
+
+    int colUnit(int cell) {
+        return rowUsed.length + cellCol[cell];
+    }
+
+    int boxUnit(int cell) {
+        return rowUsed.length + colUsed.length + cellBox[cell];
+    }
+
+    boolean isFull() {
+        return filled == numberOfCells;
+    }
+
+    long bit(int value) {
+        return 1L << (value - geometry.getMinValue());
+    }
+
+    int valueOf(long bit) {
+        return Long.numberOfTrailingZeros(bit) + geometry.getMinValue();
+    }
+
+    private void clearAll() {
+        Arrays.fill(values, Puzzle.NO_VALUE);
+        Arrays.fill(rowUsed, 0L);
+        Arrays.fill(colUsed, 0L);
+        Arrays.fill(boxUsed, 0L);
+        filled = 0;
+    }
+}
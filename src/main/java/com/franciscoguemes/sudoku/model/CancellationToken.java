@@ -0,0 +1,19 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * Flag that another thread sets to stop the searches running with a {@link SearchBudget} that holds it.
+ * Searches poll the flag, so they stop shortly after {@link #cancel()}, not immediately.
+ * A token can be shared between threads and by several searches; once cancelled it stays cancelled.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
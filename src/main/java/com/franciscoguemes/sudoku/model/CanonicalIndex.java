@@ -0,0 +1,179 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Set of canonical keys of one board, used to drop the puzzles that are equal up to symmetry
+ * in a single pass, e.g. {@code puzzles.filter(index::add)}.
+ * <p>
+ * The keys are stored packed in one flat array of longs with open addressing and linear probing, so an
+ * entry of a 9x9 puzzle takes 48 bytes and adding a key allocates nothing. An index is not thread-safe.
+ */
+public final class CanonicalIndex {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 1024;
+    private static final int MAX_TABLE_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final BoardGeometry geometry;
+    private final int wordsPerKey;
+    private final Canonicalizer canonicalizer = new Canonicalizer();
+    private final long[] scratch;
+
+    private long[] table;
+    // Bit set of the used slots of the table
+    private long[] used;
+    private int capacity;
+    private int size;
+
+    public CanonicalIndex(PuzzleType puzzleType) {
+        this(puzzleType.getGeometry(), DEFAULT_EXPECTED_SIZE);
+    }
+
+    public CanonicalIndex(PuzzleType puzzleType, int expectedSize) {
+        this(puzzleType.getGeometry(), expectedSize);
+    }
+
+    public CanonicalIndex(BoardGeometry geometry, int expectedSize) {
+        if(expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+        this.geometry = geometry;
+        this.wordsPerKey = CanonicalKey.wordsPerKey(geometry);
+        this.scratch = new long[wordsPerKey];
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return the standard game of the puzzles, or null if their board is not one of them
+     */
+    public PuzzleType getPuzzleType() {
+        return PuzzleType.of(geometry);
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if no puzzle equal to this one up to symmetry had been added
+     */
+    public boolean add(Puzzle puzzle) {
+        loadScratch(puzzle);
+        return insert(scratch);
+    }
+
+    public boolean add(CanonicalKey key) {
+        loadScratch(key);
+        return insert(scratch);
+    }
+
+    public boolean contains(Puzzle puzzle) {
+        loadScratch(puzzle);
+        return find(scratch) >= 0;
+    }
+
+    public boolean contains(CanonicalKey key) {
+        loadScratch(key);
+        return find(scratch) >= 0;
+    }
+
+    private void loadScratch(Puzzle puzzle) {
+        checkGeometry(puzzle.getGeometry());
+        Arrays.fill(scratch, 0L);
+        CanonicalKey.pack(geometry, canonicalizer.canonicalLabels(puzzle), scratch, 0);
+    }
+
+    private void loadScratch(CanonicalKey key) {
+        checkGeometry(key.getGeometry());
+        for(int i = 0; i < wordsPerKey; i++) {
+            scratch[i] = key.getWord(i);
+        }
+    }
+
+    private void checkGeometry(BoardGeometry other) {
+        if(!other.equals(geometry)) {
+            throw new IllegalArgumentException("Expected a puzzle of " + geometry + " but got one of " + other);
+        }
+    }
+
+    private boolean insert(long[] key) {
+        int slot = find(key);
+        if(slot >= 0) {
+            return false;
+        }
+        if(size + 1 > capacity / 4 * 3) {
+            grow();
+            slot = find(key);
+        }
+        slot = -slot - 1;
+        System.arraycopy(key, 0, table, slot * wordsPerKey, wordsPerKey);
+        used[slot >>> 6] |= 1L << slot;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return the slot of the key, or (-slot - 1) with the empty slot where it would go
+     */
+    private int find(long[] key) {
+        final int mask = capacity - 1;
+        int slot = hash(key, 0, wordsPerKey) & mask;
+        while((used[slot >>> 6] & (1L << slot)) != 0) {
+            if(Arrays.equals(table, slot * wordsPerKey, (slot + 1) * wordsPerKey, key, 0, wordsPerKey)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    private void grow() {
+        if((long) capacity * 2 * wordsPerKey > MAX_TABLE_LENGTH) {
+            throw new IllegalStateException("Canonical index is full: " + size + " keys");
+        }
+        long[] oldTable = table;
+        long[] oldUsed = used;
+        int oldCapacity = capacity;
+        allocate(capacity * 2);
+        final int mask = capacity - 1;
+        for(int old = 0; old < oldCapacity; old++) {
+            if((oldUsed[old >>> 6] & (1L << old)) != 0) {
+                int slot = hash(oldTable, old * wordsPerKey, wordsPerKey) & mask;
+                while((used[slot >>> 6] & (1L << slot)) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                System.arraycopy(oldTable, old * wordsPerKey, table, slot * wordsPerKey, wordsPerKey);
+                used[slot >>> 6] |= 1L << slot;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        this.table = new long[capacity * wordsPerKey];
+        this.used = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    private int capacityFor(int expectedSize) {
+        long needed = Math.max(16L, (long) expectedSize * 4 / 3 + 1);
+        long capacity = Long.highestOneBit(needed - 1) << 1;
+        if(capacity * wordsPerKey > MAX_TABLE_LENGTH) {
+            throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+        }
+        return (int) capacity;
+    }
+
+    private static int hash(long[] words, int from, int length) {
+        long h = 0;
+        for(int i = from; i < from + length; i++) {
+            h = (h ^ words[i]) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 29;
+        }
+        h ^= h >>> 32;
+        return (int) h;
+    }
+}
@@ -0,0 +1,106 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Canonical form of a puzzle packed into longs: every slot takes just enough bits to hold the
+ * relabelled values 1..n and 0 for an empty slot. Two puzzles have equal keys if and only if one
+ * can be transformed into the other with the symmetries of their board.
+ */
+public final class CanonicalKey {
+
+    private final BoardGeometry geometry;
+    private final long[] words;
+
+    private CanonicalKey(BoardGeometry geometry, long[] words) {
+        this.geometry = geometry;
+        this.words = words;
+    }
+
+    static CanonicalKey pack(BoardGeometry geometry, int[] labels) {
+        long[] words = new long[wordsPerKey(geometry)];
+        pack(geometry, labels, words, 0);
+        return new CanonicalKey(geometry, words);
+    }
+
+    /**
+     * Packs the labels into words[offset], words[offset + 1]...
+     */
+    static void pack(BoardGeometry geometry, int[] labels, long[] words, int offset) {
+        final int BITS = bitsPerSlot(geometry);
+        final int SLOTS_PER_WORD = Long.SIZE / BITS;
+        for(int i = 0; i < labels.length; i++) {
+            words[offset + i / SLOTS_PER_WORD] |= (long) labels[i] << ((i % SLOTS_PER_WORD) * BITS);
+        }
+    }
+
+    static int bitsPerSlot(BoardGeometry geometry) {
+        int values = geometry.getMaxValue() - geometry.getMinValue() + 1;
+        return Integer.SIZE - Integer.numberOfLeadingZeros(values);
+    }
+
+    static int wordsPerKey(BoardGeometry geometry) {
+        final int SLOTS_PER_WORD = Long.SIZE / bitsPerSlot(geometry);
+        final int SLOTS = geometry.getRows() * geometry.getColumns();
+        return (SLOTS + SLOTS_PER_WORD - 1) / SLOTS_PER_WORD;
+    }
+
+    /**
+     * @return the standard game of the puzzle, or null if its board is not one of them
+     */
+    public PuzzleType getPuzzleType() {
+        return PuzzleType.of(geometry);
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public int getWordCount() {
+        return words.length;
+    }
+
+    public long getWord(int index) {
+        return words[index];
+    }
+
+    /**
+     * @return the canonical puzzle, with the label n mapped back to the n-th value of the board
+     */
+    public Puzzle toPuzzle() {
+        final int BITS = bitsPerSlot(geometry);
+        final int SLOTS_PER_WORD = Long.SIZE / BITS;
+        final int COLUMNS = geometry.getColumns();
+        final long MASK = (1L << BITS) - 1;
+        Puzzle puzzle = new Puzzle(geometry);
+        for(int i = 0; i < geometry.getRows() * COLUMNS; i++) {
+            int label = (int) ((words[i / SLOTS_PER_WORD] >>> ((i % SLOTS_PER_WORD) * BITS)) & MASK);
+            if(label != 0) {
+                puzzle.makeMove(i / COLUMNS, i % COLUMNS, geometry.getMinValue() + label - 1, false);
+            }
+        }
+        return puzzle;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof CanonicalKey)) return false;
+        CanonicalKey other = (CanonicalKey) o;
+        return geometry.equals(other.geometry) && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * geometry.hashCode() + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("CanonicalKey{").append(geometry).append(',');
+        for(long word : words) {
+            sb.append(' ').append(String.format("%016x", word));
+        }
+        return sb.append('}').toString();
+    }
+}
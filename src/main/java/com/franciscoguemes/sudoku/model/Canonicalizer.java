@@ -0,0 +1,563 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Computes the canonical form of a puzzle: the representative of all the puzzles that are equal to it
+ * up to the symmetries of its board (see {@link GridTransformer}).
+ * <p>
+ * The canonical form is the smallest sequence of slots, in row-major order with 0 for the empty slots,
+ * among all the row and column orders that keep the boxes, both orientations when the board can be
+ * transposed, and with the values relabelled 1, 2, 3... in order of first appearance.
+ * <p>
+ * It is found with a depth-first search over the order of the stacks and then over the rows, one row
+ * at a time, abandoning a branch as soon as its prefix is greater than the best sequence found so far.
+ * The columns are not enumerated: columns of a stack that are equal in all the rows placed so far form
+ * a class, and each new row only sorts the columns inside their class. The new values of a row are not
+ * ordered either: they take the next labels in the order of their columns, which the rows below decide.
+ * A value whose column is still in a class of several columns has a label in the range of the class,
+ * and the search only branches when the next slot holds one of those values, on which one of them
+ * takes the first position of the class, the smallest label left. Rows that are equal, in the same
+ * band or in bands with the same rows, lead to the same sequences, so only one of them is searched,
+ * and the same goes for stacks with the same columns.
+ * <p>
+ * The working buffers are reused between calls, so an instance must not be shared between threads.
+ */
+public class Canonicalizer {
+
+    // Key of the slots whose value has no label yet, which sort last in their class
+    private static final int NEW = Integer.MAX_VALUE;
+    // Changes recorded in the trail, to be undone when the search backtracks
+    private static final int SWAP = 0;
+    private static final int SPLIT = 1;
+    private static final int LABEL = 2;
+
+    private BoardGeometry geometry;
+    private int rows;
+    private int columns;
+    private int boxHeight;
+    private int boxWidth;
+
+    // Slot values of the current orientation, as (value - minValue + 1) or 0 for empty slots
+    private int[] source;
+    private int[] transposed;
+    private int[] best;
+    // First row equal to each row and first band with the same rows as each band, the same for columns
+    private int[] rowClass;
+    private int[] bandClass;
+    private int[] colClass;
+    private int[] stackClass;
+    private int[] unitLines;
+
+    private int[] rowOrder;
+    private boolean[] rowUsed;
+    private boolean[] bandUsed;
+    private int[] stackOrder;
+    private boolean[] stackUsed;
+    // Column at each position, position of each column and the positions where a class of columns starts
+    private int[] colOrder;
+    private int[] colPos;
+    private boolean[] classStart;
+    // Candidate rows for each row of the search
+    private int[][] rowCandidates;
+    private int[] sequence;
+    private int[] smallest;
+
+    // A value is labelled by the position of the column where it first appeared, its label column,
+    // plus its label base. The label column is -1 until the value appears
+    private int[] labelColumn;
+    private int[] labelBase;
+    private int labelCount;
+
+    private int[] trail;
+    private int trailSize;
+
+    public CanonicalKey canonicalKey(Puzzle puzzle) {
+        return CanonicalKey.pack(puzzle.getGeometry(), canonicalLabels(puzzle));
+    }
+
+    /**
+     * @return the canonical form of the puzzle, with all its values as givens
+     */
+    public Puzzle canonicalForm(Puzzle puzzle) {
+        return canonicalKey(puzzle).toPuzzle();
+    }
+
+    /**
+     * @return the canonical sequence of slots; the array is reused by the next call
+     */
+    int[] canonicalLabels(Puzzle puzzle) {
+        prepare(puzzle.getGeometry());
+        final int MIN_VALUE = geometry.getMinValue();
+        for(int r = 0; r < rows; r++) {
+            for(int c = 0; c < columns; c++) {
+                int value = puzzle.getValue(r, c);
+                source[r * columns + c] = value == Puzzle.NO_VALUE ? 0 : value - MIN_VALUE + 1;
+            }
+        }
+        classifyLines();
+
+        // The first row of the canonical form is the smallest first row of every orientation and stack
+        // order, so it is computed first and only the ones that reach it are searched
+        Arrays.fill(best, Integer.MAX_VALUE);
+        searchStacks(0, true);
+        if(GridTransformer.canTranspose(geometry)) {
+            transpose();
+            searchStacks(0, true);
+            searchStacks(0, false);
+            transpose();
+        }
+        searchStacks(0, false);
+        return best;
+    }
+
+    private void transpose() {
+        for(int r = 0; r < rows; r++) {
+            for(int c = 0; c < columns; c++) {
+                transposed[c * columns + r] = source[r * columns + c];
+            }
+        }
+        int[] tmp = source;
+        source = transposed;
+        transposed = tmp;
+        classifyLines();
+    }
+
+    /**
+     * Finds the rows and the columns that are equal, and the bands and stacks that hold the same lines in some order.
+     */
+    private void classifyLines() {
+        for(int r = 0; r < rows; r++) {
+            int q = 0;
+            while(!Arrays.equals(source, q * columns, (q + 1) * columns, source, r * columns, (r + 1) * columns)) {
+                q++;
+            }
+            rowClass[r] = q;
+        }
+        for(int c = 0; c < columns; c++) {
+            int q = 0;
+            while(!isSameColumn(q, c)) {
+                q++;
+            }
+            colClass[c] = q;
+        }
+        classifyUnits(rowClass, boxHeight, bandClass);
+        classifyUnits(colClass, boxWidth, stackClass);
+    }
+
+    private boolean isSameColumn(int c, int other) {
+        for(int r = 0; r < rows; r++) {
+            if(source[r * columns + c] != source[r * columns + other]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param lineClass class of each line, the units being groups of size consecutive lines
+     */
+    private void classifyUnits(int[] lineClass, int size, int[] unitClass) {
+        for(int u = 0; u < lineClass.length; u += size) {
+            System.arraycopy(lineClass, u, unitLines, u, size);
+            Arrays.sort(unitLines, u, u + size);
+            int other = 0;
+            while(!Arrays.equals(unitLines, other, other + size, unitLines, u, u + size)) {
+                other += size;
+            }
+            unitClass[u / size] = other / size;
+        }
+    }
+
+    /**
+     * Tries every order of the stacks, except for the stacks that hold the same columns as another one.
+     * @param firstRowOnly if true, only lowers the first row of the best sequence to the smallest first
+     *                     row of each stack order; otherwise searches the stack orders that reach it
+     */
+    private void searchStacks(int stack, boolean firstRowOnly) {
+        final int STACKS = columns / boxWidth;
+        if(stack == STACKS) {
+            for(int s = 0; s < STACKS; s++) {
+                for(int j = 0; j < boxWidth; j++) {
+                    colOrder[s * boxWidth + j] = stackOrder[s] * boxWidth + j;
+                    colPos[stackOrder[s] * boxWidth + j] = s * boxWidth + j;
+                    classStart[s * boxWidth + j] = j == 0;
+                }
+            }
+            if(firstRowOnly) {
+                for(int r = 0; r < rows; r++) {
+                    rowBound(r, sequence);
+                    if(Arrays.compare(sequence, 0, columns, best, 0, columns) < 0) {
+                        System.arraycopy(sequence, 0, best, 0, columns);
+                    }
+                }
+            } else {
+                searchRow(0, false);
+            }
+            return;
+        }
+        for(int s = 0; s < STACKS; s++) {
+            if(!stackUsed[s] && !isTried(s)) {
+                stackUsed[s] = true;
+                stackOrder[stack] = s;
+                searchStacks(stack + 1, firstRowOnly);
+                stackUsed[s] = false;
+            }
+        }
+    }
+
+    /**
+     * @return true if an unused stack before s holds the same columns, so it led to the same sequences
+     */
+    private boolean isTried(int s) {
+        for(int other = 0; other < s; other++) {
+            if(!stackUsed[other] && stackClass[other] == stackClass[s]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Branches on the candidate rows that can still reach the smallest sequence, one of each set of equal rows.
+     * @param less true if the current prefix is already smaller than the best sequence
+     */
+    private void searchRow(int row, boolean less) {
+        if(row == rows) {
+            return;
+        }
+        final boolean bandStart = row % boxHeight == 0;
+        int first;
+        int last;
+        if(bandStart) {
+            first = 0;
+            last = rows;
+        } else {
+            first = (rowOrder[row - 1] / boxHeight) * boxHeight;
+            last = first + boxHeight;
+        }
+
+        // Rows whose sequence is known exactly bound the others
+        final int[] candidates = rowCandidates[row];
+        int count = 0;
+        boolean exact = false;
+        for(int r = first; r < last; r++) {
+            if(rowUsed[r] || (bandStart && bandUsed[r / boxHeight]) || isEquivalent(r, candidates, count, bandStart)) {
+                continue;
+            }
+            boolean known = rowBound(r, sequence);
+            if(!less && Arrays.compare(sequence, 0, columns, best, row * columns, (row + 1) * columns) > 0) {
+                continue;
+            }
+            if(known && (!exact || Arrays.compare(sequence, smallest) < 0)) {
+                System.arraycopy(sequence, 0, smallest, 0, columns);
+                exact = true;
+            }
+            candidates[count++] = r;
+        }
+        if(exact) {
+            int kept = 0;
+            for(int i = 0; i < count; i++) {
+                rowBound(candidates[i], sequence);
+                if(Arrays.compare(sequence, smallest) <= 0) {
+                    candidates[kept++] = candidates[i];
+                }
+            }
+            count = kept;
+        }
+
+        for(int i = 0; i < count; i++) {
+            int r = candidates[i];
+            rowOrder[row] = r;
+            rowUsed[r] = true;
+            bandUsed[r / boxHeight] = true;
+            place(row, 0, less);
+            less = false;
+            if(bandStart) {
+                bandUsed[r / boxHeight] = false;
+            }
+            rowUsed[r] = false;
+        }
+    }
+
+    /**
+     * @return true if swapping rows, or bands at the start of a band, takes row r to one of the candidates
+     *         while keeping the puzzle and the rows already placed
+     */
+    private boolean isEquivalent(int r, int[] candidates, int count, boolean bandStart) {
+        for(int i = 0; i < count; i++) {
+            int q = candidates[i];
+            if(rowClass[q] == rowClass[r] && (!bandStart || bandClass[q / boxHeight] == bandClass[r / boxHeight])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes a lower bound of the labels that row r of the board would take as the next row of the
+     * canonical form: each value takes the smallest label of its class and values of the same class
+     * take consecutive labels.
+     * @return true if the bound is exact, because every value of the row is labelled or new
+     */
+    private boolean rowBound(int r, int[] sequence) {
+        final int base = r * columns;
+        boolean exact = true;
+        int nextLabel = labelCount;
+        int pos = 0;
+        while(pos < columns) {
+            int end = endOfClass(pos);
+            int known = pos;
+            int news = 0;
+            for(int i = pos; i < end; i++) {
+                int col = colOrder[i];
+                int key = key(base, col);
+                if(key == NEW) {
+                    news++;
+                    continue;
+                }
+                if(key != 0 && !isLabelled(source[base + col])) {
+                    exact = false;
+                }
+                int k = known++;
+                while(k > pos && sequence[k - 1] > key) {
+                    sequence[k] = sequence[k - 1];
+                    k--;
+                }
+                sequence[k] = key;
+            }
+            for(int i = pos + 1; i < known; i++) {
+                if(sequence[i] != 0 && sequence[i] <= sequence[i - 1]) {
+                    sequence[i] = sequence[i - 1] + 1;
+                }
+            }
+            for(int i = 0; i < news; i++) {
+                sequence[known + i] = ++nextLabel;
+            }
+            pos = end;
+        }
+        return exact;
+    }
+
+    /**
+     * Places the columns of the class that starts at position pos for the current row: empty slots
+     * first, then the labelled values in increasing order, then the new values, which take the next
+     * labels in the order the rows below decide.
+     */
+    private void place(int row, int pos, boolean less) {
+        if(pos == columns) {
+            searchRow(row + 1, less);
+            return;
+        }
+        final int base = rowOrder[row] * columns;
+        final int offset = row * columns;
+        final int end = endOfClass(pos);
+        final int mark = trailSize;
+        int min = NEW;
+        for(int i = pos; i < end; i++) {
+            min = Math.min(min, key(base, colOrder[i]));
+        }
+
+        if(min == NEW) {
+            for(int i = pos; i < end; i++) {
+                int label = labelCount + 1 + i - pos;
+                if(!less) {
+                    if(label > best[offset + i]) {
+                        return;
+                    }
+                    less = label < best[offset + i];
+                }
+                if(less) {
+                    best[offset + i] = label;
+                }
+            }
+            for(int i = pos; i < end; i++) {
+                int value = source[base + colOrder[i]];
+                labelColumn[value] = colOrder[i];
+                labelBase[value] = labelCount + 1 - pos;
+                record(LABEL, value, 0);
+            }
+            int labels = labelCount;
+            labelCount += end - pos;
+            place(row, end, less);
+            labelCount = labels;
+            undo(mark);
+            return;
+        }
+
+        int count = 0;
+        for(int i = pos; i < end; i++) {
+            if(key(base, colOrder[i]) == min) {
+                swap(pos + count++, i);
+            }
+        }
+        if(min == 0 || isLabelled(source[base + colOrder[pos]])) {
+            // Empty slots, or a value with its label, keep their class
+            for(int i = pos; i < pos + count; i++) {
+                if(!less) {
+                    if(min > best[offset + i]) {
+                        undo(mark);
+                        return;
+                    }
+                    less = min < best[offset + i];
+                }
+                if(less) {
+                    best[offset + i] = min;
+                }
+            }
+            split(pos + count);
+            place(row, pos + count, less);
+            undo(mark);
+            return;
+        }
+
+        // The values share the class of their label columns: each one in turn takes the first position
+        // of the class left, so the smallest label left
+        final int branch = trailSize;
+        for(int i = pos; i < pos + count; i++) {
+            swap(pos, i);
+            split(pos + 1);
+            int value = source[base + colOrder[pos]];
+            int labelPos = colPos[labelColumn[value]];
+            int start = startOfClass(labelPos);
+            swap(start, labelPos);
+            split(start + 1);
+            int label = labelBase[value] + start;
+            boolean smaller = less;
+            if(!smaller) {
+                if(label > best[offset + pos]) {
+                    undo(branch);
+                    continue;
+                }
+                smaller = label < best[offset + pos];
+            }
+            if(smaller) {
+                best[offset + pos] = label;
+            }
+            place(row, pos + 1, smaller);
+            less = false;
+            undo(branch);
+        }
+        undo(mark);
+    }
+
+    /**
+     * @return 0 for an empty slot, NEW for a value without label, or the smallest label the value can take
+     */
+    private int key(int base, int col) {
+        int value = source[base + col];
+        if(value == 0) {
+            return 0;
+        }
+        int labelCol = labelColumn[value];
+        return labelCol < 0 ? NEW : labelBase[value] + startOfClass(colPos[labelCol]);
+    }
+
+    /**
+     * @return true if the value has its final label, because its label column is alone in its class
+     */
+    private boolean isLabelled(int value) {
+        if(labelColumn[value] < 0) {
+            return false;
+        }
+        int labelPos = colPos[labelColumn[value]];
+        return classStart[labelPos] && endOfClass(labelPos) == labelPos + 1;
+    }
+
+    private int startOfClass(int pos) {
+        while(!classStart[pos]) {
+            pos--;
+        }
+        return pos;
+    }
+
+    private int endOfClass(int pos) {
+        pos++;
+        while(pos < columns && !classStart[pos]) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private void swap(int i, int j) {
+        if(i != j) {
+            swapPositions(i, j);
+            record(SWAP, i, j);
+        }
+    }
+
+    private void swapPositions(int i, int j) {
+        int col = colOrder[i];
+        colOrder[i] = colOrder[j];
+        colOrder[j] = col;
+        colPos[colOrder[i]] = i;
+        colPos[col] = j;
+    }
+
+    /**
+     * Starts a new class of columns at the position, unless it is the end of the board or already a start.
+     */
+    private void split(int pos) {
+        if(pos < columns && !classStart[pos]) {
+            classStart[pos] = true;
+            record(SPLIT, pos, 0);
+        }
+    }
+
+    private void record(int kind, int a, int b) {
+        if(trailSize == trail.length) {
+            trail = Arrays.copyOf(trail, trailSize * 2);
+        }
+        trail[trailSize++] = kind << 16 | a << 8 | b;
+    }
+
+    private void undo(int mark) {
+        while(trailSize > mark) {
+            int change = trail[--trailSize];
+            int a = (change >>> 8) & 0xFF;
+            int b = change & 0xFF;
+            switch(change >>> 16) {
+                case SWAP -> swapPositions(a, b);
+                case SPLIT -> classStart[a] = false;
+                default -> labelColumn[a] = -1;
+            }
+        }
+    }
+
+    private void prepare(BoardGeometry type) {
+        if(type.equals(geometry)) {
+            return;
+        }
+        geometry = type;
+        rows = type.getRows();
+        columns = type.getColumns();
+        boxHeight = type.getBoxHeight();
+        boxWidth = type.getBoxWidth();
+        final int CELLS = rows * columns;
+        final int VALUES = type.getMaxValue() - type.getMinValue() + 1;
+
+        source = new int[CELLS];
+        transposed = new int[CELLS];
+        best = new int[CELLS];
+        rowClass = new int[rows];
+        bandClass = new int[rows / boxHeight];
+        colClass = new int[columns];
+        stackClass = new int[columns / boxWidth];
+        unitLines = new int[rows];
+        rowOrder = new int[rows];
+        rowUsed = new boolean[rows];
+        bandUsed = new boolean[rows / boxHeight];
+        stackOrder = new int[columns / boxWidth];
+        stackUsed = new boolean[columns / boxWidth];
+        colOrder = new int[columns];
+        colPos = new int[columns];
+        classStart = new boolean[columns];
+        rowCandidates = new int[rows][rows];
+        sequence = new int[columns];
+        smallest = new int[columns];
+        labelColumn = new int[VALUES + 1];
+        Arrays.fill(labelColumn, -1);
+        labelBase = new int[VALUES + 1];
+        trail = new int[CELLS];
+    }
+}
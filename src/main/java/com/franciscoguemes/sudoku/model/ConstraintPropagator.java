@@ -0,0 +1,138 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * Places the values that are forced by the rules before any guessing is needed:
+ * <ul>
+ *     <li>Naked singles: an empty slot where only one value fits.</li>
+ *     <li>Hidden singles: a value that fits in only one slot of a row, column or box.</li>
+ * </ul>
+ * Units (rows, columns and boxes) are revisited through a work queue only when one of their
+ * slots lost a candidate, instead of rescanning the whole board after every placement.
+ * The working state is reused between calls, so an instance must not be shared between threads.
+ */
+public class ConstraintPropagator {
+
+    private BoardState state;
+    private int[] queue;
+    private boolean[] queued;
+    private int head;
+    private int size;
+    // Units processed since the propagator was created
+    long steps;
+
+    /**
+     * Fills the empty slots of the puzzle that are forced by naked and hidden singles, as mutable values.
+     * @return false if the puzzle has no solution, in which case it is left unchanged
+     */
+    public boolean propagate(Puzzle puzzle) {
+        if(state == null || !state.geometry.equals(puzzle.getGeometry())) {
+            state = new BoardState(puzzle.getGeometry());
+        }
+        if(!state.load(puzzle) || !propagate(state)) {
+            return false;
+        }
+        state.storeTo(puzzle);
+        return true;
+    }
+
+    /**
+     * Propagates the singles of the working state in place.
+     * @return false if a contradiction was found
+     */
+    boolean propagate(BoardState board) {
+        if(queue == null || queue.length != board.numberOfUnits) {
+            queue = new int[board.numberOfUnits];
+            queued = new boolean[board.numberOfUnits];
+        }
+        head = 0;
+        size = 0;
+        for(int u = 0; u < board.numberOfUnits; u++) {
+            queued[u] = false;
+            enqueue(u);
+        }
+
+        while(size > 0) {
+            int unit = queue[head];
+            head = (head + 1) % queue.length;
+            size--;
+            queued[unit] = false;
+            steps++;
+            if(!processUnit(board, unit)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean processUnit(BoardState board, int unit) {
+        int[] cells = board.unitCells[unit];
+        long used = 0;
+        long once = 0;
+        long twice = 0;
+        for(int cell : cells) {
+            int value = board.values[cell];
+            if(value != Puzzle.NO_VALUE) {
+                used |= board.bit(value);
+                continue;
+            }
+            long candidates = board.candidates(cell);
+            if(candidates == 0) {
+                return false;
+            }
+            if((candidates & (candidates - 1)) == 0) {
+                // Naked single, the unit is queued again by assign
+                assign(board, cell, candidates);
+                return true;
+            }
+            twice |= once & candidates;
+            once |= candidates;
+        }
+
+        long missing = board.allValues & ~used;
+        if((missing & ~once) != 0) {
+            return false;
+        }
+        long hidden = once & ~twice & missing;
+        if(hidden != 0) {
+            long bit = hidden & -hidden;
+            for(int cell : cells) {
+                if(board.values[cell] == Puzzle.NO_VALUE && (board.candidates(cell) & bit) != 0) {
+                    assign(board, cell, bit);
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void assign(BoardState board, int cell, long bit) {
+        // Every slot that loses this candidate may create new singles in its own units
+        enqueuePeersWithCandidate(board, board.unitCells[board.rowUnit(cell)], cell, bit);
+        enqueuePeersWithCandidate(board, board.unitCells[board.colUnit(cell)], cell, bit);
+        enqueuePeersWithCandidate(board, board.unitCells[board.boxUnit(cell)], cell, bit);
+        board.place(cell, board.valueOf(bit));
+        enqueueUnitsOf(board, cell);
+    }
+
+    private void enqueuePeersWithCandidate(BoardState board, int[] peers, int cell, long bit) {
+        for(int peer : peers) {
+            if(peer != cell && board.values[peer] == Puzzle.NO_VALUE && (board.candidates(peer) & bit) != 0) {
+                enqueueUnitsOf(board, peer);
+            }
+        }
+    }
+
+    private void enqueueUnitsOf(BoardState board, int cell) {
+        enqueue(board.rowUnit(cell));
+        enqueue(board.colUnit(cell));
+        enqueue(board.boxUnit(cell));
+    }
+
+    private void enqueue(int unit) {
+        if(!queued[unit]) {
+            queued[unit] = true;
+            queue[(head + size) % queue.length] = unit;
+            size++;
+        }
+    }
+}
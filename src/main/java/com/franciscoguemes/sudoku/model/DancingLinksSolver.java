@@ -0,0 +1,354 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Exact cover solver based on Knuth's Dancing Links (Algorithm X).
+ * <p>
+ * Every candidate (cell, value) is a row of the matrix and covers four constraints: the cell is
+ * filled, the value appears in the row, in the column and in the box. The links are kept in
+ * primitive arrays that are built once per {@link BoardGeometry} and restored from a template at the
+ * beginning of every solve, so an instance must not be shared between threads.
+ */
+public class DancingLinksSolver implements Solver {
+
+    private static final int ROOT = 0;
+    // Number of search steps between two checks of the budget
+    private static final int BUDGET_CHECK_INTERVAL = 256;
+
+    private BoardGeometry geometry;
+    private int size;
+    private int numberOfCells;
+
+    // Pristine links of the full matrix
+    private int[] templateLeft;
+    private int[] templateRight;
+    private int[] templateUp;
+    private int[] templateDown;
+    private int[] templateCount;
+
+    // Working links
+    private int[] left;
+    private int[] right;
+    private int[] up;
+    private int[] down;
+    private int[] count;
+    private int[] column;
+    private int[] candidate;
+
+    private boolean[] columnUsed;
+    private int[] choices;
+    private int[] solution;
+    // Counters of the last run
+    private final SearchCounters counters = new SearchCounters();
+    // Budget of the current run, null when unlimited
+    private SearchBudget budget;
+    // Nodes charged to the budget before the current run
+    private long spentNodes;
+    // Whether the last run stopped because the budget ran out
+    private boolean budgetExceeded;
+
+    @Override
+    public boolean solve(Puzzle puzzle) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean solved = solveInPlace(puzzle);
+        SearchMetrics.recordSolverRun(counters, System.nanoTime() - start);
+        event.commit(this, puzzle, SolveResult.statusOf(solved ? 1 : 0, budgetExceeded), solved ? 1 : 0, counters);
+        return solved;
+    }
+
+    @Override
+    public int countSolutions(Puzzle puzzle, int limit) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        counters.reset();
+        budgetExceeded = false;
+        int solutions = limit <= 0 || !prepare(puzzle) ? 0 : search(limit);
+        SearchMetrics.recordSolverRun(counters, System.nanoTime() - start);
+        event.commit(this, puzzle, SolveResult.statusOf(solutions, budgetExceeded), solutions, counters);
+        return solutions;
+    }
+
+    /**
+     * Counts the solutions like {@link #countSolutions(Puzzle, int)} within a budget shared with the
+     * caller, of which spentNodes are already spent. The counters of the run are added to into.
+     * @param budget null when unlimited
+     */
+    SearchOutcome countSolutions(Puzzle puzzle, int limit, SearchBudget budget, long spentNodes, SearchCounters into) {
+        this.budget = budget;
+        this.spentNodes = spentNodes;
+        int solutions;
+        try {
+            solutions = countSolutions(puzzle, limit);
+        } finally {
+            this.budget = null;
+            this.spentNodes = 0;
+        }
+        into.add(counters, 0);
+        return new SearchOutcome(solutions, budgetExceeded);
+    }
+
+    @Override
+    public SolveResult solveWithStats(Puzzle puzzle) {
+        return solve(puzzle, SearchBudget.UNLIMITED);
+    }
+
+    @Override
+    public SolveResult solve(Puzzle puzzle, SearchBudget budget) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        this.budget = budget.isUnlimited() ? null : budget;
+        this.spentNodes = 0;
+        boolean solved;
+        try {
+            solved = solveInPlace(puzzle);
+        } finally {
+            this.budget = null;
+        }
+        long wallTime = System.nanoTime() - start;
+        SearchMetrics.recordSolverRun(counters, wallTime);
+        SolveResult.Status status = SolveResult.statusOf(solved ? 1 : 0, budgetExceeded);
+        event.commit(this, puzzle, status, solved ? 1 : 0, counters);
+        return new SolveResult(status, counters.toStats(wallTime));
+    }
+
+    private boolean solveInPlace(Puzzle puzzle) {
+        counters.reset();
+        budgetExceeded = false;
+        if(!prepare(puzzle) || search(1) == 0) {
+            return false;
+        }
+        final int COLUMNS = geometry.getColumns();
+        for(int cell = 0; cell < numberOfCells; cell++) {
+            int row = cell / COLUMNS;
+            int col = cell % COLUMNS;
+            if(puzzle.getValue(row, col) == Puzzle.NO_VALUE) {
+                puzzle.makeMove(row, col, solution[cell], true);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the solutions until the limit is reached. The first solution found is kept in {@link #solution}.
+     */
+    private int search(int limit) {
+        int solutions = 0;
+        int level = 0;
+        int steps = 0;
+        while(true) {
+            if(budget != null && ++steps % BUDGET_CHECK_INTERVAL == 0
+                    && budget.isExhausted(spentNodes + counters.nodes)) {
+                budgetExceeded = true;
+                return solutions;
+            }
+            boolean backtrack;
+            if(right[ROOT] == ROOT) {
+                if(solutions == 0) {
+                    recordSolution(level);
+                }
+                solutions++;
+                if(solutions >= limit) {
+                    return solutions;
+                }
+                backtrack = true;
+            } else {
+                int c = chooseColumn();
+                if(count[c] == 0) {
+                    backtrack = true;
+                } else {
+                    cover(c);
+                    int r = down[c];
+                    choices[level++] = r;
+                    coverRow(r);
+                    counters.nodes++;
+                    counters.reachedDepth(level);
+                    backtrack = false;
+                }
+            }
+
+            while(backtrack) {
+                if(level == 0) {
+                    return solutions;
+                }
+                int r = choices[--level];
+                uncoverRow(r);
+                r = down[r];
+                int c = column[r];
+                if(r == c) {
+                    uncover(c);
+                    counters.backtracks++;
+                    continue;
+                }
+                choices[level++] = r;
+                coverRow(r);
+                counters.nodes++;
+                backtrack = false;
+            }
+        }
+    }
+
+    private boolean prepare(Puzzle puzzle) {
+        BoardGeometry type = puzzle.getGeometry();
+        if(!type.equals(geometry)) {
+            build(type);
+        }
+        System.arraycopy(templateLeft, 0, left, 0, left.length);
+        System.arraycopy(templateRight, 0, right, 0, right.length);
+        System.arraycopy(templateUp, 0, up, 0, up.length);
+        System.arraycopy(templateDown, 0, down, 0, down.length);
+        System.arraycopy(templateCount, 0, count, 0, count.length);
+        Arrays.fill(columnUsed, false);
+
+        final int COLUMNS = type.getColumns();
+        for(int cell = 0; cell < numberOfCells; cell++) {
+            int value = puzzle.getValue(cell / COLUMNS, cell % COLUMNS);
+            solution[cell] = value;
+            if(value == Puzzle.NO_VALUE) {
+                continue;
+            }
+            int first = firstNode(cell, value - type.getMinValue());
+            int node = first;
+            do {
+                if(columnUsed[column[node]]) {
+                    return false;
+                }
+                node = right[node];
+            } while(node != first);
+            do {
+                columnUsed[column[node]] = true;
+                cover(column[node]);
+                node = right[node];
+            } while(node != first);
+        }
+        return true;
+    }
+
+    private void build(BoardGeometry type) {
+        this.geometry = type;
+        this.size = type.getMaxValue() - type.getMinValue() + 1;
+        this.numberOfCells = type.getRows() * type.getColumns();
+
+        final int COLUMNS = type.getColumns();
+        final int BOXHEIGHT = type.getBoxHeight();
+        final int BOXWIDTH = type.getBoxWidth();
+        final int boxesPerRow = COLUMNS / BOXWIDTH;
+        final int numberOfColumns = 4 * numberOfCells;
+        final int numberOfNodes = 1 + numberOfColumns + 4 * numberOfCells * size;
+
+        left = new int[numberOfNodes];
+        right = new int[numberOfNodes];
+        up = new int[numberOfNodes];
+        down = new int[numberOfNodes];
+        count = new int[numberOfColumns + 1];
+        column = new int[numberOfNodes];
+        candidate = new int[numberOfNodes];
+        columnUsed = new boolean[numberOfColumns + 1];
+        choices = new int[numberOfCells];
+        solution = new int[numberOfCells];
+
+        for(int c = 0; c <= numberOfColumns; c++) {
+            left[c] = c == 0 ? numberOfColumns : c - 1;
+            right[c] = c == numberOfColumns ? 0 : c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+
+        int node = numberOfColumns + 1;
+        int[] rowColumns = new int[4];
+        for(int cell = 0; cell < numberOfCells; cell++) {
+            int r = cell / COLUMNS;
+            int c = cell % COLUMNS;
+            int b = (r / BOXHEIGHT) * boxesPerRow + (c / BOXWIDTH);
+            for(int v = 0; v < size; v++) {
+                rowColumns[0] = 1 + cell;
+                rowColumns[1] = 1 + numberOfCells + r * size + v;
+                rowColumns[2] = 1 + 2 * numberOfCells + c * size + v;
+                rowColumns[3] = 1 + 3 * numberOfCells + b * size + v;
+                int first = node;
+                for(int k = 0; k < 4; k++, node++) {
+                    int col = rowColumns[k];
+                    column[node] = col;
+                    candidate[node] = cell * size + v;
+                    up[node] = up[col];
+                    down[node] = col;
+                    down[up[col]] = node;
+                    up[col] = node;
+                    count[col]++;
+                    left[node] = k == 0 ? first + 3 : node - 1;
+                    right[node] = k == 3 ? first : node + 1;
+                }
+            }
+        }
+
+        templateLeft = left.clone();
+        templateRight = right.clone();
+        templateUp = up.clone();
+        templateDown = down.clone();
+        templateCount = count.clone();
+    }
+
+    private int firstNode(int cell, int valueIndex) {
+        return 1 + 4 * numberOfCells + 4 * (cell * size + valueIndex);
+    }
+
+    private int chooseColumn() {
+        int best = right[ROOT];
+        int bestCount = count[best];
+        for(int c = right[best]; c != ROOT && bestCount > 1; c = right[c]) {
+            if(count[c] < bestCount) {
+                best = c;
+                bestCount = count[c];
+            }
+        }
+        return best;
+    }
+
+    private void recordSolution(int level) {
+        for(int i = 0; i < level; i++) {
+            int value = candidate[choices[i]];
+            solution[value / size] = value % size + geometry.getMinValue();
+        }
+    }
+
+    private void coverRow(int r) {
+        for(int j = right[r]; j != r; j = right[j]) {
+            cover(column[j]);
+        }
+    }
+
+    private void uncoverRow(int r) {
+        for(int j = left[r]; j != r; j = left[j]) {
+            uncover(column[j]);
+        }
+    }
+
+    private void cover(int c) {
+        right[left[c]] = right[c];
+        left[right[c]] = left[c];
+        for(int i = down[c]; i != c; i = down[i]) {
+            for(int j = right[i]; j != i; j = right[j]) {
+                down[up[j]] = down[j];
+                up[down[j]] = up[j];
+                count[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int c) {
+        for(int i = up[c]; i != c; i = up[i]) {
+            for(int j = left[i]; j != i; j = left[j]) {
+                count[column[j]]++;
+                down[up[j]] = j;
+                up[down[j]] = j;
+            }
+        }
+        right[left[c]] = c;
+        left[right[c]] = c;
+    }
+}
@@ -0,0 +1,51 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * Difficulty bands of a puzzle, defined by the hardest {@link Technique} needed to solve it.
+ */
+public enum Difficulty {
+
+    EASY("Easy", Technique.HIDDEN_SINGLE),
+    MEDIUM("Medium", Technique.HIDDEN_TRIPLE),
+    HARD("Hard", Technique.SWORDFISH),
+    EXPERT("Expert", null);
+
+    private final String description;
+    private final Technique hardestTechnique;
+
+    private Difficulty(String description, Technique hardestTechnique) {
+        this.description = description;
+        this.hardestTechnique = hardestTechnique;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return the hardest technique allowed in this band, or null if the band needs guessing
+     */
+    public Technique getHardestTechnique() {
+        return hardestTechnique;
+    }
+
+    /**
+     * @return the band of a graded puzzle: puzzles that the techniques cannot solve are {@link #EXPERT}
+     */
+    public static Difficulty of(Grade grade) {
+        if(!grade.isSolved()) {
+            return EXPERT;
+        }
+        Technique hardest = grade.getHardestTechnique();
+        for(Difficulty difficulty : values()) {
+            // EXPERT has no hardest technique: it takes whatever the other bands do not
+            if(difficulty.hardestTechnique == null) {
+                break;
+            }
+            if(hardest == null || hardest.ordinal() <= difficulty.hardestTechnique.ordinal()) {
+                return difficulty;
+            }
+        }
+        return EXPERT;
+    }
+}
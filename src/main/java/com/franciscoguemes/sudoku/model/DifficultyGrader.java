@@ -0,0 +1,490 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Grades a puzzle by solving it the way a person would, using only the {@link Technique}s in
+ * increasing order of cost: after every deduction the grader starts again from the cheapest technique.
+ * <p>
+ * The candidates of the empty slots are maintained incrementally: placing a value only removes it
+ * from the peers of the slot, and every technique works by eliminating candidates. The working state
+ * is reused between calls, so an instance must not be shared between threads.
+ * <p>
+ * The generator grades a puzzle after each clue it removes: it loads the puzzle once and then only
+ * clears or restores single slots of the loaded state, whose candidates are kept up to date by the
+ * masks of their units. The deductions themselves are replayed from the first one every time,
+ * since removing a clue can change any of them.
+ */
+public class DifficultyGrader {
+
+    // Combinations are bit patterns in a long: on boards of 64 values only the first 63 entries of a
+    // unit are combined, which can only miss a deduction, never make a wrong one
+    private static final int MAX_COMBINED = Long.SIZE - 1;
+
+    private BoardState state;
+    private int[][] peers;
+    private int[] values;
+    private long[] candidates;
+    private int emptyCells;
+    private boolean contradiction;
+    // Whether the givens of the loaded puzzle conflict
+    private boolean conflict;
+    // Scratch buffers for the subset and fish techniques
+    private int[] scratchCells;
+    private long[] scratchMasks;
+    private long[] scratchKeys;
+
+    public Grade grade(Puzzle puzzle) {
+        load(puzzle);
+        return gradeLoaded(null);
+    }
+
+    /**
+     * Grades the loaded puzzle, giving up as soon as a technique harder than the limit is needed:
+     * the grade is then unsolved, with that technique as the hardest.
+     * @param limit the hardest technique worth trying, null for all of them
+     */
+    Grade gradeLoaded(Technique limit) {
+        startDeductions();
+        int score = 0;
+        Technique hardest = null;
+
+        while(emptyCells > 0 && !contradiction) {
+            Technique technique = nextDeduction();
+            if(technique == null || contradiction) {
+                break;
+            }
+            score += technique.getCost();
+            if(hardest == null || technique.ordinal() > hardest.ordinal()) {
+                hardest = technique;
+            }
+            if(limit != null && technique.ordinal() > limit.ordinal()) {
+                return new Grade(score, hardest, false);
+            }
+        }
+
+        return new Grade(score, hardest, emptyCells == 0 && !contradiction);
+    }
+
+    /**
+     * @return the first technique that makes progress on the puzzle, or null if none of them does
+     */
+    Technique firstDeduction(Puzzle puzzle) {
+        load(puzzle);
+        startDeductions();
+        return contradiction ? null : nextDeduction();
+    }
+
+    /**
+     * Empties a slot of the loaded puzzle.
+     */
+    void clearSlot(int cell) {
+        state.clear(cell);
+    }
+
+    /**
+     * Puts back a value cleared from the loaded puzzle, which must not conflict with the other values.
+     */
+    void restoreSlot(int cell, int value) {
+        state.place(cell, value);
+    }
+
+    /**
+     * Applies the cheapest technique that makes progress.
+     * @return the technique applied, or null if none of them makes progress or a contradiction was found
+     */
+    private Technique nextDeduction() {
+        if(nakedSingle()) return Technique.NAKED_SINGLE;
+        // A slot without candidates is found by the naked single scan, the other techniques would be wasted
+        if(contradiction) return null;
+        if(hiddenSingle()) return Technique.HIDDEN_SINGLE;
+        if(nakedSubset(2)) return Technique.NAKED_PAIR;
+        if(hiddenSubset(2)) return Technique.HIDDEN_PAIR;
+        if(nakedSubset(3)) return Technique.NAKED_TRIPLE;
+        if(hiddenSubset(3)) return Technique.HIDDEN_TRIPLE;
+        if(pointing()) return Technique.POINTING;
+        if(boxLineReduction()) return Technique.BOX_LINE_REDUCTION;
+        if(fish(2)) return Technique.X_WING;
+        if(fish(3)) return Technique.SWORDFISH;
+        return null;
+    }
+
+    private boolean nakedSingle() {
+        for(int cell = 0; cell < values.length; cell++) {
+            if(values[cell] == Puzzle.NO_VALUE) {
+                long mask = candidates[cell];
+                if(mask == 0) {
+                    contradiction = true;
+                    return false;
+                }
+                if((mask & (mask - 1)) == 0) {
+                    place(cell, mask);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hiddenSingle() {
+        for(int[] cells : state.unitCells) {
+            long placed = 0;
+            long once = 0;
+            long twice = 0;
+            for(int cell : cells) {
+                if(values[cell] != Puzzle.NO_VALUE) {
+                    placed |= state.bit(values[cell]);
+                } else {
+                    twice |= once & candidates[cell];
+                    once |= candidates[cell];
+                }
+            }
+            long hidden = once & ~twice & ~placed;
+            if(hidden != 0) {
+                long bit = hidden & -hidden;
+                for(int cell : cells) {
+                    if((candidates[cell] & bit) != 0) {
+                        place(cell, bit);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Naked pair/triple: k slots of a unit whose candidates together are exactly k values,
+     * so those values can be removed from the rest of the unit.
+     */
+    private boolean nakedSubset(int k) {
+        for(int[] cells : state.unitCells) {
+            int count = 0;
+            for(int cell : cells) {
+                int size = Long.bitCount(candidates[cell]);
+                if(size >= 2 && size <= k) {
+                    scratchCells[count++] = cell;
+                }
+            }
+            if(count < k) {
+                continue;
+            }
+            for(long combo = (1L << k) - 1; combo < (1L << Math.min(count, MAX_COMBINED)); combo = nextCombination(combo)) {
+                long union = 0;
+                for(long bits = combo; bits != 0; bits &= bits - 1) {
+                    union |= candidates[scratchCells[Long.numberOfTrailingZeros(bits)]];
+                }
+                if(Long.bitCount(union) != k) {
+                    continue;
+                }
+                boolean changed = false;
+                for(int cell : cells) {
+                    if(values[cell] == Puzzle.NO_VALUE && !inCombination(cell, combo)) {
+                        changed |= eliminate(cell, union);
+                    }
+                }
+                if(changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hidden pair/triple: k values that fit only in the same k slots of a unit,
+     * so every other candidate can be removed from those slots.
+     */
+    private boolean hiddenSubset(int k) {
+        for(int[] cells : state.unitCells) {
+            int count = 0;
+            for(long bit = 1; (bit & state.allValues) != 0; bit <<= 1) {
+                long positions = 0;
+                for(int i = 0; i < cells.length; i++) {
+                    if((candidates[cells[i]] & bit) != 0) {
+                        positions |= 1L << i;
+                    }
+                }
+                int size = Long.bitCount(positions);
+                if(size >= 2 && size <= k) {
+                    scratchKeys[count] = bit;
+                    scratchMasks[count++] = positions;
+                }
+            }
+            if(count < k) {
+                continue;
+            }
+            for(long combo = (1L << k) - 1; combo < (1L << Math.min(count, MAX_COMBINED)); combo = nextCombination(combo)) {
+                long union = 0;
+                long subset = 0;
+                for(long bits = combo; bits != 0; bits &= bits - 1) {
+                    int i = Long.numberOfTrailingZeros(bits);
+                    union |= scratchMasks[i];
+                    subset |= scratchKeys[i];
+                }
+                if(Long.bitCount(union) != k) {
+                    continue;
+                }
+                boolean changed = false;
+                for(long positions = union; positions != 0; positions &= positions - 1) {
+                    changed |= eliminate(cells[Long.numberOfTrailingZeros(positions)], ~subset);
+                }
+                if(changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pointing: the candidates of a value inside a box are all in one row or column,
+     * so the value can be removed from the rest of that row or column.
+     */
+    private boolean pointing() {
+        final int firstBox = state.rowUsed.length + state.colUsed.length;
+        for(int unit = firstBox; unit < state.numberOfUnits; unit++) {
+            int[] cells = state.unitCells[unit];
+            for(long bit = 1; (bit & state.allValues) != 0; bit <<= 1) {
+                int row = -1;
+                int col = -1;
+                boolean sameRow = true;
+                boolean sameCol = true;
+                for(int cell : cells) {
+                    if((candidates[cell] & bit) != 0) {
+                        if(row == -1) {
+                            row = state.cellRow[cell];
+                            col = state.cellCol[cell];
+                        } else {
+                            sameRow &= state.cellRow[cell] == row;
+                            sameCol &= state.cellCol[cell] == col;
+                        }
+                    }
+                }
+                if(row == -1) {
+                    continue;
+                }
+                boolean changed = false;
+                int box = unit - firstBox;
+                if(sameRow) {
+                    changed |= eliminateOutsideBox(state.unitCells[row], box, bit);
+                }
+                if(sameCol) {
+                    changed |= eliminateOutsideBox(state.unitCells[state.rowUsed.length + col], box, bit);
+                }
+                if(changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Box/line reduction: the candidates of a value inside a row or column are all in one box,
+     * so the value can be removed from the rest of that box.
+     */
+    private boolean boxLineReduction() {
+        final int firstBox = state.rowUsed.length + state.colUsed.length;
+        for(int unit = 0; unit < firstBox; unit++) {
+            int[] cells = state.unitCells[unit];
+            for(long bit = 1; (bit & state.allValues) != 0; bit <<= 1) {
+                int box = -1;
+                boolean sameBox = true;
+                for(int cell : cells) {
+                    if((candidates[cell] & bit) != 0) {
+                        if(box == -1) {
+                            box = state.cellBox[cell];
+                        } else {
+                            sameBox &= state.cellBox[cell] == box;
+                        }
+                    }
+                }
+                if(box == -1 || !sameBox) {
+                    continue;
+                }
+                boolean changed = false;
+                for(int cell : state.unitCells[firstBox + box]) {
+                    boolean inLine = unit < state.rowUsed.length
+                            ? state.cellRow[cell] == unit
+                            : state.rowUsed.length + state.cellCol[cell] == unit;
+                    if(!inLine) {
+                        changed |= eliminate(cell, bit);
+                    }
+                }
+                if(changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * X-Wing (size 2) and Swordfish (size 3): the candidates of a value in n rows lie in only n columns,
+     * so the value can be removed from those columns in every other row. The same applies swapping
+     * rows and columns.
+     */
+    private boolean fish(int n) {
+        return fish(n, true) || fish(n, false);
+    }
+
+    private boolean fish(int n, boolean byRows) {
+        final int rows = state.rowUsed.length;
+        final int lines = byRows ? rows : state.colUsed.length;
+        final int crossOffset = byRows ? rows : 0;
+        final int lineOffset = byRows ? 0 : rows;
+        for(long bit = 1; (bit & state.allValues) != 0; bit <<= 1) {
+            int count = 0;
+            for(int line = 0; line < lines; line++) {
+                int[] cells = state.unitCells[lineOffset + line];
+                long positions = 0;
+                for(int i = 0; i < cells.length; i++) {
+                    if((candidates[cells[i]] & bit) != 0) {
+                        positions |= 1L << i;
+                    }
+                }
+                int size = Long.bitCount(positions);
+                if(size >= 2 && size <= n) {
+                    scratchKeys[count] = line;
+                    scratchMasks[count++] = positions;
+                }
+            }
+            if(count < n) {
+                continue;
+            }
+            for(long combo = (1L << n) - 1; combo < (1L << Math.min(count, MAX_COMBINED)); combo = nextCombination(combo)) {
+                long union = 0;
+                long baseLines = 0;
+                for(long bits = combo; bits != 0; bits &= bits - 1) {
+                    int i = Long.numberOfTrailingZeros(bits);
+                    union |= scratchMasks[i];
+                    baseLines |= 1L << scratchKeys[i];
+                }
+                if(Long.bitCount(union) != n) {
+                    continue;
+                }
+                boolean changed = false;
+                for(long positions = union; positions != 0; positions &= positions - 1) {
+                    int[] cross = state.unitCells[crossOffset + Long.numberOfTrailingZeros(positions)];
+                    for(int i = 0; i < cross.length; i++) {
+                        if((baseLines & (1L << i)) == 0) {
+                            changed |= eliminate(cross[i], bit);
+                        }
+                    }
+                }
+                if(changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean eliminateOutsideBox(int[] line, int box, long bit) {
+        boolean changed = false;
+        for(int cell : line) {
+            if(state.cellBox[cell] != box) {
+                changed |= eliminate(cell, bit);
+            }
+        }
+        return changed;
+    }
+
+    private boolean inCombination(int cell, long combo) {
+        for(long bits = combo; bits != 0; bits &= bits - 1) {
+            if(scratchCells[Long.numberOfTrailingZeros(bits)] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Next bit pattern with the same number of bits set (Gosper's hack).
+     */
+    private static long nextCombination(long combo) {
+        long lowest = combo & -combo;
+        long ripple = combo + lowest;
+        return (((ripple ^ combo) >>> 2) / lowest) | ripple;
+    }
+
+    private void place(int cell, long bit) {
+        values[cell] = state.valueOf(bit);
+        candidates[cell] = 0;
+        emptyCells--;
+        for(int peer : peers[cell]) {
+            candidates[peer] &= ~bit;
+        }
+    }
+
+    private boolean eliminate(int cell, long bits) {
+        if((candidates[cell] & bits) == 0) {
+            return false;
+        }
+        candidates[cell] &= ~bits;
+        if(candidates[cell] == 0) {
+            contradiction = true;
+        }
+        return true;
+    }
+
+    /**
+     * Loads the puzzle to grade, which can then be changed slot by slot.
+     */
+    void load(Puzzle puzzle) {
+        BoardGeometry geometry = puzzle.getGeometry();
+        if(state == null || !state.geometry.equals(geometry)) {
+            state = new BoardState(geometry);
+            peers = buildPeers(state);
+            values = new int[state.numberOfCells];
+            candidates = new long[state.numberOfCells];
+            int maxUnitSize = Math.max(Math.max(geometry.getRows(), geometry.getColumns()), state.numberOfValues);
+            scratchCells = new int[maxUnitSize];
+            scratchMasks = new long[maxUnitSize];
+            scratchKeys = new long[maxUnitSize];
+        }
+
+        conflict = !state.load(puzzle);
+    }
+
+    /**
+     * Copies the loaded puzzle into the working values and candidates of the deductions.
+     */
+    private void startDeductions() {
+        contradiction = conflict;
+        emptyCells = 0;
+        for(int cell = 0; cell < state.numberOfCells; cell++) {
+            values[cell] = state.values[cell];
+            if(values[cell] == Puzzle.NO_VALUE) {
+                candidates[cell] = state.candidates(cell);
+                emptyCells++;
+            } else {
+                candidates[cell] = 0;
+            }
+        }
+    }
+
+    private static int[][] buildPeers(BoardState state) {
+        int[][] peers = new int[state.numberOfCells][];
+        boolean[] seen = new boolean[state.numberOfCells];
+        int[] buffer = new int[state.numberOfCells];
+        for(int cell = 0; cell < state.numberOfCells; cell++) {
+            int count = 0;
+            int[] units = {state.rowUnit(cell), state.colUnit(cell), state.boxUnit(cell)};
+            for(int unit : units) {
+                for(int peer : state.unitCells[unit]) {
+                    if(peer != cell && !seen[peer]) {
+                        seen[peer] = true;
+                        buffer[count++] = peer;
+                    }
+                }
+            }
+            peers[cell] = Arrays.copyOf(buffer, count);
+            for(int i = 0; i < count; i++) {
+                seen[buffer[i]] = false;
+            }
+        }
+        return peers;
+    }
+}
@@ -0,0 +1,45 @@
+package com.franciscoguemes.sudoku.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of one generated puzzle. The solver runs of the generation are recorded as
+ * {@link SolveEvent}s nested in its duration.
+ */
+@Name("com.franciscoguemes.sudoku.Generation")
+@Label("Generation")
+@Category({"Sudoku", "Generator"})
+@Description("A puzzle generated from a solved grid")
+final class GenerationEvent extends Event {
+
+    @Label("Puzzle Type")
+    String puzzleType;
+
+    @Label("Difficulty")
+    @Description("Difficulty reached, empty for random puzzles")
+    String difficulty;
+
+    @Label("Clue Removal Attempts")
+    long clueRemovalAttempts;
+
+    @Label("Nodes")
+    long nodes;
+
+    /**
+     * Records the event if it is enabled and passes the threshold.
+     * @param difficulty the difficulty reached, null for random puzzles
+     */
+    void commit(PuzzleType puzzleType, Difficulty difficulty, SearchCounters counters) {
+        if(shouldCommit()) {
+            this.puzzleType = puzzleType.name();
+            this.difficulty = difficulty == null ? "" : difficulty.name();
+            this.clueRemovalAttempts = counters.clueRemovalAttempts;
+            this.nodes = counters.nodes;
+            commit();
+        }
+    }
+}
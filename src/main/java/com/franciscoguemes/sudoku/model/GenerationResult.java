@@ -0,0 +1,56 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * Result of {@link Generator#generate(PuzzleType, Difficulty, SearchBudget)}: the puzzle, the difficulty it
+ * reached and what the generation did. The search counters add up every solver run of the generation.
+ */
+public final class GenerationResult {
+
+    public enum Status {
+        GENERATED,
+        /**
+         * The generation stopped when its {@link SearchBudget} ran out, without a puzzle.
+         */
+        BUDGET_EXCEEDED
+    }
+
+    private final Status status;
+    private final Puzzle puzzle;
+    private final Difficulty difficulty;
+    private final SearchStats stats;
+
+    GenerationResult(Status status, Puzzle puzzle, Difficulty difficulty, SearchStats stats) {
+        this.status = status;
+        this.puzzle = puzzle;
+        this.difficulty = difficulty;
+        this.stats = stats;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the puzzle, or null if the budget was exceeded
+     */
+    public Puzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * @return the difficulty of the puzzle, which may be easier than requested, see {@link Generator#MAX_ATTEMPTS};
+     *         null for random puzzles and when the budget was exceeded
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationResult{status=" + status + ", difficulty=" + difficulty + ", stats=" + stats + "}";
+    }
+}
@@ -1,109 +1,368 @@
 package com.franciscoguemes.sudoku.model;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+/**
+ * Generates random puzzles with a unique solution.
+ * <p>
+ * All the randomness comes from one {@link SplittableRandom}, so a generator created with a seed
+ * always produces the same sequence of puzzles. A generator keeps reusable solver state and must
+ * not be shared between threads: use {@link #split()} to get an independent generator per thread.
+ */
 public class Generator {
 
+    /**
+     * Number of solved grids tried by {@link #generate(PuzzleType, Difficulty)} before giving up on the band.
+     */
+    public static final int MAX_ATTEMPTS = 32;
+
+    /**
+     * Number of solved grids of each type kept as seeds for the {@link GridTransformer}.
+     */
+    public static final int SEED_GRIDS = 8;
+
+    private final SplittableRandom random;
+    private final BacktrackingSolver solver = new BacktrackingSolver();
+    private final DancingLinksSolver solutionCounter = new DancingLinksSolver();
+    // Counters of the current generation, adding up its solver runs
+    private final SearchCounters counters = new SearchCounters();
+    // Budget of the current generation, null when unlimited
+    private SearchBudget budget;
+    private boolean budgetExceeded;
+    private final DifficultyGrader grader = new DifficultyGrader();
+    private final GridTransformer transformer;
+    private final Map<PuzzleType, List<Puzzle>> seedGrids = new HashMap<>();
+
+    public Generator() {
+        this(new SplittableRandom());
+    }
+
+    public Generator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    public Generator(SplittableRandom random) {
+        this.random = random;
+        this.transformer = new GridTransformer(random);
+    }
+
+    /**
+     * Creates a new generator whose random sequence is derived from, and independent of, this one.
+     * Splitting the same seeded generator in the same order always gives the same generators.
+     */
+    public Generator split() {
+        return new Generator(random.split());
+    }
+
     public Puzzle generateRandomSudoku(PuzzleType puzzleType) {
-        Puzzle puzzle = new Puzzle(puzzleType);
-        Puzzle copy = new Puzzle(puzzle);
+        return generateRandomSudoku(puzzleType, SearchBudget.UNLIMITED).getPuzzle();
+    }
+
+    /**
+     * Generates a random puzzle like {@link #generateRandomSudoku(PuzzleType)} unless the budget runs
+     * out first, in which case the result is {@link GenerationResult.Status#BUDGET_EXCEEDED}.
+     * The node budget is shared by all the solver runs of the generation.
+     */
+    public GenerationResult generateRandomSudoku(PuzzleType puzzleType, SearchBudget budget) {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        startRun(budget);
+        Puzzle puzzle = null;
+        try {
+            Puzzle copy = solvedGrid(puzzleType);
+            if(copy != null) {
+                removeCluesWhileUnique(copy);
+                puzzle = budgetExceeded ? null : copy;
+            }
+        } finally {
+            this.budget = null;
+        }
+        long wallTime = System.nanoTime() - start;
+        SearchMetrics.recordGeneration(counters, wallTime);
+        event.commit(puzzleType, null, counters);
+        return result(puzzle, null, wallTime);
+    }
 
-        Random randomGenerator = new Random();
+    /**
+     * Generates a puzzle with a unique solution in the given difficulty band.
+     * <p>
+     * Clues are removed from a solved grid one at a time, and a removal is kept only while the puzzle
+     * stays unique and within the band. Each attempt is a single pass over the slots, and at most
+     * {@link #MAX_ATTEMPTS} grids are tried, so generation time is bounded: if no attempt reaches the
+     * band, the hardest puzzle found is returned, which may be easier than requested.
+     */
+    public Puzzle generate(PuzzleType puzzleType, Difficulty difficulty) {
+        return generateWithStats(puzzleType, difficulty).getPuzzle();
+    }
 
-        int[] possibleValues = getPossibleValuesInPuzzle(copy);
-        List<Integer> notUsedValidValues = new ArrayList<>(Arrays.stream(possibleValues).boxed().toList());
+    /**
+     * Generates a puzzle like {@link #generate(PuzzleType, Difficulty)}, also counting the clue removals
+     * tried and the work of every solver run made on the way.
+     */
+    public GenerationResult generateWithStats(PuzzleType puzzleType, Difficulty difficulty) {
+        return generate(puzzleType, difficulty, SearchBudget.UNLIMITED);
+    }
 
-        for(int r = 0; r < copy.getPuzzleType().getRows(); r++) {
-            int randomValue = randomGenerator.nextInt(notUsedValidValues.size());
-            copy.makeMove(r, 0, notUsedValidValues.get(randomValue), true);
-            notUsedValidValues.remove(randomValue);
+    /**
+     * Generates a puzzle like {@link #generate(PuzzleType, Difficulty)} unless the budget runs out
+     * first, in which case the result is {@link GenerationResult.Status#BUDGET_EXCEEDED}.
+     * The node budget is shared by all the solver runs of the generation.
+     */
+    public GenerationResult generate(PuzzleType puzzleType, Difficulty difficulty, SearchBudget budget) {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        startRun(budget);
+        Puzzle best = null;
+        Difficulty bestDifficulty = null;
+        try {
+            for(int attempt = 0; attempt < MAX_ATTEMPTS && !budgetExceeded; attempt++) {
+                Puzzle candidate = solvedGrid(puzzleType);
+                if(candidate == null) {
+                    break;
+                }
+                Difficulty reached = removeCluesWithin(candidate, difficulty);
+                if(budgetExceeded) {
+                    break;
+                }
+                if(best == null || reached.ordinal() > bestDifficulty.ordinal()) {
+                    best = candidate;
+                    bestDifficulty = reached;
+                }
+                if(reached == difficulty) {
+                    break;
+                }
+            }
+        } finally {
+            this.budget = null;
         }
+        long wallTime = System.nanoTime() - start;
+        SearchMetrics.recordGeneration(counters, wallTime);
+        event.commit(puzzleType, bestDifficulty, counters);
+        return budgetExceeded ? result(null, null, wallTime) : result(best, bestDifficulty, wallTime);
+    }
 
-        //Bottleneck here need to improve this so that way 16x16 puzzles can be generated
-        backtrackSudokuSolver(0, 0, copy);
+    private void startRun(SearchBudget budget) {
+        counters.reset();
+        this.budget = budget.isUnlimited() ? null : budget;
+        this.budgetExceeded = false;
+    }
 
-        int numberOfValuesToKeep = (int)(0.22222*(copy.getPuzzleType().getRows()*copy.getPuzzleType().getRows()));
+    private GenerationResult result(Puzzle puzzle, Difficulty difficulty, long wallTime) {
+        if(budgetExceeded) {
+            return new GenerationResult(GenerationResult.Status.BUDGET_EXCEEDED, null, null, counters.toStats(wallTime));
+        }
+        return new GenerationResult(GenerationResult.Status.GENERATED, toGivens(puzzle), difficulty, counters.toStats(wallTime));
+    }
 
-        for(int i = 0;i < numberOfValuesToKeep;) {
-            int randomRow = randomGenerator.nextInt(puzzleType.getRows());
-            int randomColumn = randomGenerator.nextInt(puzzleType.getColumns());
+    /**
+     * @return true if the budget of the current generation ran out
+     */
+    private boolean isBudgetExhausted() {
+        if(!budgetExceeded && budget != null && budget.isExhausted(counters.nodes)) {
+            budgetExceeded = true;
+        }
+        return budgetExceeded;
+    }
 
-            if(puzzle.isSlotAvailable(randomRow, randomColumn)) {
-                puzzle.makeMove(randomRow, randomColumn, copy.getValue(randomRow, randomColumn), false);
-                i++;
+    /**
+     * Generates puzzles on several threads, each one with its own split of this generator.
+     * Thread t generates the puzzles at positions t, t + threads, t + 2 * threads, ... so the result
+     * only depends on the seed of this generator and on the number of threads.
+     */
+    public List<Puzzle> generateRandomSudokus(PuzzleType puzzleType, int count, int threads) {
+        if(threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        Puzzle[] puzzles = new Puzzle[count];
+        List<Future<?>> futures = new ArrayList<>(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for(int t = 0; t < threads; t++) {
+                Generator generator = split();
+                int first = t;
+                futures.add(executor.submit(() -> {
+                    for(int i = first; i < count; i += threads) {
+                        puzzles[i] = generator.generateRandomSudoku(puzzleType);
+                    }
+                }));
+            }
+            for(Future<?> future : futures) {
+                future.get();
             }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generation interrupted", e);
+        } catch(ExecutionException e) {
+            throw new IllegalStateException("Generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
+        return List.of(puzzles);
+    }
 
-        return puzzle;
+    /**
+     * Empties the slots of a solved puzzle in random order, keeping a value whenever removing it
+     * would allow more than one solution.
+     */
+    private void removeCluesWhileUnique(Puzzle puzzle) {
+        final int COLUMNS = puzzle.getGeometry().getColumns();
+        int[] cells = shuffledCells(puzzle.getGeometry());
+
+        for(int cell : cells) {
+            if(isBudgetExhausted()) {
+                return;
+            }
+            int row = cell / COLUMNS;
+            int col = cell % COLUMNS;
+            int value = puzzle.getValue(row, col);
+            puzzle.makeSlotEmpty(row, col);
+            counters.clueRemovalAttempts++;
+            if(countSolutions(puzzle) != 1 || budgetExceeded) {
+                puzzle.makeMove(row, col, value, true);
+            }
+        }
     }
 
     /**
-     * Solves the sudoku puzzle
-     * Pre-cond: r = 0,c = 0
-     * Post-cond: solved puzzle
-     * @param r: the current row
-     * @param c: the current column
-     * @return valid move or not or done
-     * Responses: Erroneous data
+     * Empties the slots of a solved puzzle in random order, keeping a value whenever removing it
+     * would allow more than one solution or make the puzzle harder than the target.
+     * A puzzle that the grader solves by logic alone has a unique solution, so the solution counter
+     * is only needed when the grader gets stuck.
+     * <p>
+     * The grader keeps the puzzle loaded for the whole pass and follows each removal and revert, and
+     * it stops grading as soon as a technique beyond the target band is needed.
+     * @return the difficulty of the resulting puzzle
      */
-    private boolean backtrackSudokuSolver(int r,int c,Puzzle puzzle) {
-        //If the move is not valid return false
-        if(!puzzle.inRange(r,c)) {
-            return false;
+    private Difficulty removeCluesWithin(Puzzle puzzle, Difficulty target) {
+        final int COLUMNS = puzzle.getGeometry().getColumns();
+        int[] cells = shuffledCells(puzzle.getGeometry());
+        Difficulty reached = Difficulty.EASY;
+        grader.load(puzzle);
+
+        for(int cell : cells) {
+            if(isBudgetExhausted()) {
+                return reached;
+            }
+            int row = cell / COLUMNS;
+            int col = cell % COLUMNS;
+            int value = puzzle.getValue(row, col);
+            puzzle.makeSlotEmpty(row, col);
+            grader.clearSlot(cell);
+            counters.clueRemovalAttempts++;
+
+            // A grade that stopped at a harder technique is unsolved, so out of any band but EXPERT
+            Grade grade = grader.gradeLoaded(target.getHardestTechnique());
+            Difficulty difficulty = Difficulty.of(grade);
+            boolean keep;
+            if(difficulty.ordinal() > target.ordinal()) {
+                keep = false;
+            } else if(grade.isSolved()) {
+                keep = true;
+            } else {
+                keep = countSolutions(puzzle) == 1 && !budgetExceeded;
+            }
+
+            if(keep) {
+                reached = difficulty;
+            } else {
+                puzzle.makeMove(row, col, value, true);
+                grader.restoreSlot(cell, value);
+            }
         }
+        return reached;
+    }
 
-        int[] possibleValues = getPossibleValuesInPuzzle(puzzle);
+    /**
+     * @return 0, 1 or 2 for more than one solution, not to be trusted if the budget ran out
+     */
+    private int countSolutions(Puzzle puzzle) {
+        SearchOutcome outcome = solutionCounter.countSolutions(puzzle, 2, budget, counters.nodes, counters);
+        budgetExceeded |= outcome.budgetExceeded;
+        return outcome.solutions;
+    }
 
-        //if the current space is empty
-        if(puzzle.isSlotAvailable(r, c)) {
+    /**
+     * Draws a solved grid: the first {@link #SEED_GRIDS} grids of each type are solved from scratch
+     * and kept as seeds, and every grid is a random transformation of one of the seeds.
+     * @return null if the budget ran out while solving a new seed
+     */
+    private Puzzle solvedGrid(PuzzleType puzzleType) {
+        List<Puzzle> seeds = seedGrids.computeIfAbsent(puzzleType, type -> new ArrayList<>(SEED_GRIDS));
+        Puzzle seed;
+        if(seeds.size() < SEED_GRIDS) {
+            seed = solveRandomGrid(puzzleType);
+            if(seed == null) {
+                return null;
+            }
+            seeds.add(seed);
+        } else {
+            seed = seeds.get(random.nextInt(seeds.size()));
+        }
+        return transformer.randomize(seed);
+    }
 
-            //loop to find the correct value for the space
-            for(int i = 0;i < possibleValues.length;i++) {
+    private Puzzle solveRandomGrid(PuzzleType puzzleType) {
+        Puzzle puzzle = new Puzzle(puzzleType);
 
-                //if the current number works in the space
-                if(!puzzle.numInRow(r, possibleValues[i]) && !puzzle.numInCol(c,possibleValues[i]) && !puzzle.numInBox(r,c,possibleValues[i])) {
+        int[] possibleValues = getPossibleValuesInPuzzle(puzzle);
+        shuffle(possibleValues);
 
-                    //make the move
-                    puzzle.makeMove(r, c, possibleValues[i], true);
+        for(int r = 0; r < puzzleType.getRows(); r++) {
+            puzzle.makeMove(r, 0, possibleValues[r], true);
+        }
 
-                    //if puzzle solved return true
-                    if(puzzle.boardFull()) {
-                        return true;
-                    }
+        budgetExceeded |= solver.solve(puzzle, budget, counters.nodes, counters).budgetExceeded;
+        return budgetExceeded ? null : puzzle;
+    }
 
-                    //go to next move
-                    if(r == puzzle.getPuzzleType().getRows() - 1) {
-                        if(backtrackSudokuSolver(0,c + 1,puzzle)) return true;
-                    } else {
-                        if(backtrackSudokuSolver(r + 1,c,puzzle)) return true;
-                    }
+    /**
+     * @return a new puzzle whose values are the values of the given one, all of them as givens
+     */
+    private static Puzzle toGivens(Puzzle source) {
+        BoardGeometry geometry = source.getGeometry();
+        Puzzle puzzle = new Puzzle(geometry);
+        for(int r = 0; r < geometry.getRows(); r++) {
+            for(int c = 0; c < geometry.getColumns(); c++) {
+                int value = source.getValue(r, c);
+                if(value != Puzzle.NO_VALUE) {
+                    puzzle.makeMove(r, c, value, false);
                 }
             }
         }
+        return puzzle;
+    }
 
-        //if the current space is not empty
-        else {
-            //got to the next move
-            if(r == puzzle.getPuzzleType().getRows() - 1) {
-                return backtrackSudokuSolver(0,c + 1,puzzle);
-            } else {
-                return backtrackSudokuSolver(r + 1,c,puzzle);
-            }
+    private int[] shuffledCells(BoardGeometry geometry) {
+        int[] cells = new int[geometry.getRows() * geometry.getColumns()];
+        for(int i = 0; i < cells.length; i++) {
+            cells[i] = i;
         }
+        shuffle(cells);
+        return cells;
+    }
 
-        //undo move
-        puzzle.makeSlotEmpty(r, c);
-
-        //backtrack
-        return false;
+    private void shuffle(int[] values) {
+        for(int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
     }
 
     private static int[] getPossibleValuesInPuzzle(Puzzle puzzle) {
-        int minValue = puzzle.getPuzzleType().getMinValue();
-        int maxValue = puzzle.getPuzzleType().getMaxValue();
+        int minValue = puzzle.getGeometry().getMinValue();
+        int maxValue = puzzle.getGeometry().getMaxValue();
         int [] possibleValues = new int[maxValue-minValue+1];
         for(int i = 0; i< possibleValues.length; i++){
             possibleValues[i]=minValue+i;
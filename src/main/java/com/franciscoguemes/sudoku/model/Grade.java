@@ -0,0 +1,43 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * Result of grading a puzzle with the {@link DifficultyGrader}.
+ */
+public final class Grade {
+
+    private final int score;
+    private final Technique hardestTechnique;
+    private final boolean solved;
+
+    Grade(int score, Technique hardestTechnique, boolean solved) {
+        this.score = score;
+        this.hardestTechnique = hardestTechnique;
+        this.solved = solved;
+    }
+
+    /**
+     * @return the sum of the cost of every deduction that was needed
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return the most expensive technique used, or null if the puzzle needed no deduction at all
+     */
+    public Technique getHardestTechnique() {
+        return hardestTechnique;
+    }
+
+    /**
+     * @return false if the known techniques were not enough and the puzzle needs guessing
+     */
+    public boolean isSolved() {
+        return solved;
+    }
+
+    @Override
+    public String toString() {
+        return "Grade{score=" + score + ", hardestTechnique=" + hardestTechnique + ", solved=" + solved + "}";
+    }
+}
@@ -0,0 +1,184 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Applies the symmetries of a puzzle that preserve its validity: relabelling the values, swapping rows
+ * within a band, swapping columns within a stack, swapping whole bands or stacks and, when the boxes
+ * are square, transposing the board.
+ * <p>
+ * A band is a row of boxes and a stack is a column of boxes. Every transformation returns a new
+ * puzzle and keeps the given or mutable state of each value, so a solved grid stays solved and a
+ * puzzle keeps its number of solutions.
+ */
+public final class GridTransformer {
+
+    private final SplittableRandom random;
+
+    public GridTransformer(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Applies a random combination of all the symmetries of the board.
+     */
+    public Puzzle randomize(Puzzle puzzle) {
+        BoardGeometry geometry = puzzle.getGeometry();
+        int[] rowOrder = randomOrder(geometry.getRows(), geometry.getBoxHeight());
+        int[] colOrder = randomOrder(geometry.getColumns(), geometry.getBoxWidth());
+        int[] values = identity(geometry.getMaxValue() - geometry.getMinValue() + 1);
+        shuffle(values, 0, values.length);
+        for(int i = 0; i < values.length; i++) {
+            values[i] += geometry.getMinValue();
+        }
+        boolean transpose = canTranspose(geometry) && random.nextBoolean();
+        return transform(puzzle, rowOrder, colOrder, values, transpose);
+    }
+
+    /**
+     * @param values the new value of each value, indexed by (value - minValue)
+     */
+    public static Puzzle relabel(Puzzle puzzle, int[] values) {
+        BoardGeometry geometry = puzzle.getGeometry();
+        if(values.length != geometry.getMaxValue() - geometry.getMinValue() + 1) {
+            throw new IllegalArgumentException("Expected " + (geometry.getMaxValue() - geometry.getMinValue() + 1) + " values but got " + values.length);
+        }
+        long seen = 0;
+        for(int value : values) {
+            if(value < geometry.getMinValue() || value > geometry.getMaxValue() || (seen & (1L << (value - geometry.getMinValue()))) != 0) {
+                throw new IllegalArgumentException("Values are not a permutation of the values of " + geometry);
+            }
+            seen |= 1L << (value - geometry.getMinValue());
+        }
+        return transform(puzzle, identity(geometry.getRows()), identity(geometry.getColumns()), values, false);
+    }
+
+    public static Puzzle swapRows(Puzzle puzzle, int row1, int row2) {
+        BoardGeometry geometry = puzzle.getGeometry();
+        checkIndex(row1, geometry.getRows(), "Row");
+        checkIndex(row2, geometry.getRows(), "Row");
+        if(row1 / geometry.getBoxHeight() != row2 / geometry.getBoxHeight()) {
+            throw new IllegalArgumentException("Rows " + row1 + " and " + row2 + " are not in the same band");
+        }
+        int[] rowOrder = identity(geometry.getRows());
+        swap(rowOrder, row1, row2);
+        return transform(puzzle, rowOrder, identity(geometry.getColumns()), null, false);
+    }
+
+    public static Puzzle swapColumns(Puzzle puzzle, int col1, int col2) {
+        BoardGeometry geometry = puzzle.getGeometry();
+        checkIndex(col1, geometry.getColumns(), "Column");
+        checkIndex(col2, geometry.getColumns(), "Column");
+        if(col1 / geometry.getBoxWidth() != col2 / geometry.getBoxWidth()) {
+            throw new IllegalArgumentException("Columns " + col1 + " and " + col2 + " are not in the same stack");
+        }
+        int[] colOrder = identity(geometry.getColumns());
+        swap(colOrder, col1, col2);
+        return transform(puzzle, identity(geometry.getRows()), colOrder, null, false);
+    }
+
+    public static Puzzle swapBands(Puzzle puzzle, int band1, int band2) {
+        BoardGeometry geometry = puzzle.getGeometry();
+        final int HEIGHT = geometry.getBoxHeight();
+        checkIndex(band1, geometry.getRows() / HEIGHT, "Band");
+        checkIndex(band2, geometry.getRows() / HEIGHT, "Band");
+        int[] rowOrder = identity(geometry.getRows());
+        for(int i = 0; i < HEIGHT; i++) {
+            swap(rowOrder, band1 * HEIGHT + i, band2 * HEIGHT + i);
+        }
+        return transform(puzzle, rowOrder, identity(geometry.getColumns()), null, false);
+    }
+
+    public static Puzzle swapStacks(Puzzle puzzle, int stack1, int stack2) {
+        BoardGeometry geometry = puzzle.getGeometry();
+        final int WIDTH = geometry.getBoxWidth();
+        checkIndex(stack1, geometry.getColumns() / WIDTH, "Stack");
+        checkIndex(stack2, geometry.getColumns() / WIDTH, "Stack");
+        int[] colOrder = identity(geometry.getColumns());
+        for(int i = 0; i < WIDTH; i++) {
+            swap(colOrder, stack1 * WIDTH + i, stack2 * WIDTH + i);
+        }
+        return transform(puzzle, identity(geometry.getRows()), colOrder, null, false);
+    }
+
+    /**
+     * Mirrors the board over its main diagonal. Only boards with square boxes can be transposed.
+     */
+    public static Puzzle transpose(Puzzle puzzle) {
+        BoardGeometry geometry = puzzle.getGeometry();
+        if(!canTranspose(geometry)) {
+            throw new IllegalArgumentException("Cannot transpose " + geometry + ": its boxes are not square");
+        }
+        return transform(puzzle, identity(geometry.getRows()), identity(geometry.getColumns()), null, true);
+    }
+
+    public static boolean canTranspose(BoardGeometry geometry) {
+        return geometry.getBoxWidth() == geometry.getBoxHeight() && geometry.getRows() == geometry.getColumns();
+    }
+
+    /**
+     * Slot (r, c) of the result takes the value of slot (rowOrder[r], colOrder[c]) of the puzzle,
+     * or of slot (rowOrder[c], colOrder[r]) when transposing, relabelled through values if not null.
+     */
+    private static Puzzle transform(Puzzle puzzle, int[] rowOrder, int[] colOrder, int[] values, boolean transpose) {
+        BoardGeometry geometry = puzzle.getGeometry();
+        final int ROWS = geometry.getRows();
+        final int COLUMNS = geometry.getColumns();
+        final int MIN_VALUE = geometry.getMinValue();
+        Puzzle result = new Puzzle(geometry);
+        for(int r = 0; r < ROWS; r++) {
+            for(int c = 0; c < COLUMNS; c++) {
+                int sourceRow = transpose ? rowOrder[c] : rowOrder[r];
+                int sourceCol = transpose ? colOrder[r] : colOrder[c];
+                int value = puzzle.getValue(sourceRow, sourceCol);
+                if(value != Puzzle.NO_VALUE) {
+                    result.makeMove(r, c, values == null ? value : values[value - MIN_VALUE], puzzle.isSlotMutable(sourceRow, sourceCol));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a random order of the lines of a board: the groups of size lines are shuffled, and so
+     * are the lines inside each group
+     */
+    private int[] randomOrder(int lines, int size) {
+        int[] groups = identity(lines / size);
+        shuffle(groups, 0, groups.length);
+        int[] order = new int[lines];
+        for(int g = 0; g < groups.length; g++) {
+            for(int i = 0; i < size; i++) {
+                order[g * size + i] = groups[g] * size + i;
+            }
+            shuffle(order, g * size, size);
+        }
+        return order;
+    }
+
+    private void shuffle(int[] values, int from, int length) {
+        for(int i = length - 1; i > 0; i--) {
+            swap(values, from + i, from + random.nextInt(i + 1));
+        }
+    }
+
+    private static int[] identity(int length) {
+        int[] values = new int[length];
+        for(int i = 0; i < length; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    private static void checkIndex(int index, int length, String name) {
+        if(index < 0 || index >= length) {
+            throw new IllegalArgumentException(name + " out of range: " + index);
+        }
+    }
+}
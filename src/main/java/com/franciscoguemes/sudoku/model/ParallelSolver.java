@@ -0,0 +1,267 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Solver that splits the search tree between the threads of a {@link ForkJoinPool}.
+ * <p>
+ * Up to the split depth every candidate of the most constrained empty slot becomes a subtask with
+ * its own copy of the board. Deeper levels are searched sequentially by a {@link BacktrackingSolver}.
+ * As soon as a subtask finds a solution (or the solution limit is reached when counting) the
+ * remaining subtasks are cancelled. Worth it for the large puzzle types, where a single search
+ * thread leaves most cores idle.
+ * <p>
+ * The solver owns its pool, so it must be closed when no longer needed. It can be shared between threads.
+ */
+public class ParallelSolver implements Solver, AutoCloseable {
+
+    public static final int DEFAULT_SPLIT_DEPTH = 2;
+
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+
+    public ParallelSolver() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_SPLIT_DEPTH);
+    }
+
+    /**
+     * @param parallelism number of threads searching at the same time
+     * @param splitDepth number of search levels that are split in subtasks, 0 searches sequentially
+     */
+    public ParallelSolver(int parallelism, int splitDepth) {
+        if(splitDepth < 0) {
+            throw new IllegalArgumentException("Split depth must not be negative: " + splitDepth);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.splitDepth = splitDepth;
+    }
+
+    @Override
+    public boolean solve(Puzzle puzzle) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        Search search = run(puzzle, 1, null);
+        boolean solved = storeSolution(search, puzzle);
+        event.commit(this, puzzle, SolveResult.statusOf(solved ? 1 : 0, false), solved ? 1 : 0, search.counters);
+        return solved;
+    }
+
+    @Override
+    public int countSolutions(Puzzle puzzle, int limit) {
+        if(limit <= 0) {
+            return 0;
+        }
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        Search search = run(puzzle, limit, null);
+        int solutions = Math.min(search.solutions.get(), limit);
+        event.commit(this, puzzle, SolveResult.statusOf(solutions, false), solutions, search.counters);
+        return solutions;
+    }
+
+    @Override
+    public SolveResult solveWithStats(Puzzle puzzle) {
+        return solve(puzzle, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The nodes of the subtasks running at the same time are added up when they complete, so a node
+     * budget may be overrun by up to the nodes of one subtask per thread.
+     */
+    @Override
+    public SolveResult solve(Puzzle puzzle, SearchBudget budget) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        Search search = run(puzzle, 1, budget.isUnlimited() ? null : budget);
+        boolean solved = storeSolution(search, puzzle);
+        // A subtask may run out of budget after another one found the solution
+        SolveResult.Status status = SolveResult.statusOf(solved ? 1 : 0, search.budgetExceeded && !solved);
+        event.commit(this, puzzle, status, solved ? 1 : 0, search.counters);
+        return new SolveResult(status, search.counters.toStats(search.wallTimeNanos));
+    }
+
+    private static boolean storeSolution(Search search, Puzzle puzzle) {
+        int[] solution = search.solution.get();
+        if(solution == null) {
+            return false;
+        }
+        final int COLUMNS = puzzle.getGeometry().getColumns();
+        for(int cell = 0; cell < solution.length; cell++) {
+            int row = cell / COLUMNS;
+            int col = cell % COLUMNS;
+            if(puzzle.getValue(row, col) == Puzzle.NO_VALUE) {
+                puzzle.makeMove(row, col, solution[cell], true);
+            }
+        }
+        return true;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getSplitDepth() {
+        return splitDepth;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private Search run(Puzzle puzzle, int limit, SearchBudget budget) {
+        long start = System.nanoTime();
+        Search search = new Search(limit, budget);
+        BoardState state = new BoardState(puzzle.getGeometry());
+        if(state.load(puzzle)) {
+            pool.invoke(new SearchTask(search, state, 0));
+        }
+        search.wallTimeNanos = System.nanoTime() - start;
+        SearchMetrics.recordSolverRun(search.counters, search.wallTimeNanos);
+        return search;
+    }
+
+    /**
+     * State shared by all the subtasks of one solve.
+     */
+    private static final class Search {
+        final int limit;
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicInteger solutions = new AtomicInteger();
+        final AtomicReference<int[]> solution = new AtomicReference<>();
+        // Each subtask counts on its own and merges here when it completes
+        final SearchCounters counters = new SearchCounters();
+        // Null when unlimited
+        final SearchBudget budget;
+        volatile boolean budgetExceeded;
+        long wallTimeNanos;
+
+        Search(int limit, SearchBudget budget) {
+            this.limit = limit;
+            this.budget = budget;
+        }
+
+        synchronized void merge(SearchCounters subtask, int depth) {
+            counters.add(subtask, depth);
+        }
+
+        synchronized long nodes() {
+            return counters.nodes;
+        }
+
+        /**
+         * @return true if the budget ran out, in which case every subtask is stopped
+         */
+        boolean checkBudget() {
+            if(budget != null && budget.isExhausted(nodes())) {
+                exceeded();
+            }
+            return budgetExceeded;
+        }
+
+        void exceeded() {
+            budgetExceeded = true;
+            stop.set(true);
+        }
+
+        void found(int count, BoardState state) {
+            if(count == 0) {
+                return;
+            }
+            if(state.isFull()) {
+                solution.compareAndSet(null, state.values.clone());
+            }
+            if(solutions.addAndGet(count) >= limit) {
+                stop.set(true);
+            }
+        }
+    }
+
+    // Tasks only live inside the pool and are never serialized
+    private final class SearchTask extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient Search search;
+        private final transient BoardState state;
+        private final int depth;
+
+        SearchTask(Search search, BoardState state, int depth) {
+            this.search = search;
+            this.state = state;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if(search.stop.get() || search.checkBudget()) {
+                return;
+            }
+            if(depth >= splitDepth) {
+                SearchCounters counters = new SearchCounters();
+                SearchOutcome outcome = new BacktrackingSolver().countSolutions(state, search.limit, search.stop,
+                        search.budget, search.nodes(), counters);
+                if(outcome.budgetExceeded) {
+                    search.exceeded();
+                }
+                search.found(outcome.solutions, state);
+                search.merge(counters, depth);
+                return;
+            }
+
+            ConstraintPropagator propagator = new ConstraintPropagator();
+            boolean consistent = propagator.propagate(state);
+            SearchCounters counters = new SearchCounters();
+            counters.propagationSteps = propagator.steps;
+            if(!consistent) {
+                counters.backtracks++;
+                search.merge(counters, depth);
+                return;
+            }
+            if(state.isFull()) {
+                search.merge(counters, depth);
+                search.found(1, state);
+                return;
+            }
+
+            int cell = selectCell();
+            long candidates = state.candidates(cell);
+            counters.nodes = Long.bitCount(candidates);
+            counters.maxDepth = 1;
+            search.merge(counters, depth);
+            List<SearchTask> subtasks = new ArrayList<>(Long.bitCount(candidates));
+            while(candidates != 0) {
+                long bit = candidates & -candidates;
+                candidates &= ~bit;
+                BoardState copy = new BoardState(state);
+                copy.place(cell, copy.valueOf(bit));
+                subtasks.add(new SearchTask(search, copy, depth + 1));
+            }
+            invokeAll(subtasks);
+        }
+
+        private int selectCell() {
+            int bestCell = -1;
+            int bestCount = Integer.MAX_VALUE;
+            for(int cell = 0; cell < state.numberOfCells; cell++) {
+                if(state.values[cell] == Puzzle.NO_VALUE) {
+                    int count = Long.bitCount(state.candidates(cell));
+                    if(count < bestCount) {
+                        bestCell = cell;
+                        bestCount = count;
+                    }
+                }
+            }
+            return bestCell;
+        }
+    }
+}
@@ -1,196 +1,263 @@
 package com.franciscoguemes.sudoku.model;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 public class Puzzle {
 
     public static final int NO_VALUE = 0;
 
-    protected int [][] board;
-    // Table to determine if a slot is mutable
-    protected boolean [][] mutable;
+    // Values of the slots in row-major order
+    protected byte [] cells;
+    // Bit set of the slots that hold a given (immutable) value
+    protected long [] givens;
+    // Occupancy bitmasks of the rows, then the columns, then the boxes:
+    // bit (value - minValue) is set when value is present in the unit
+    private long [] unitMasks;
+    private final BoardGeometry geometry;
     private final PuzzleType puzzleType;
 
 
     public Puzzle(PuzzleType puzzleType){
-        this.puzzleType = puzzleType;
-        this.board = new int[puzzleType.getRows()][puzzleType.getColumns()];
-        this.mutable = new boolean[puzzleType.getRows()][puzzleType.getColumns()];
-        initializeBoard();
-        initializeMutableSlots();
+        this(puzzleType.getGeometry());
+    }
+
+    /**
+     * Creates an empty puzzle of any board, standard game or not.
+     */
+    public Puzzle(BoardGeometry geometry){
+        this.geometry = geometry;
+        this.puzzleType = PuzzleType.of(geometry);
+        final int CELLS = geometry.getRows() * geometry.getColumns();
+        this.cells = new byte[CELLS];
+        this.givens = new long[(CELLS + Long.SIZE - 1) / Long.SIZE];
+        this.unitMasks = new long[geometry.getRows() + geometry.getColumns() + getNumberOfBoxes()];
     }
 
     public Puzzle(Puzzle puzzle) {
-        this.puzzleType = puzzle.getPuzzleType();
+        this.geometry = puzzle.geometry;
+        this.puzzleType = puzzle.puzzleType;
         copyBoard(puzzle);
     }
 
     private void copyBoard(Puzzle puzzle) {
-        final int ROWS = puzzleType.getRows();
-        final int COLUMNS = puzzleType.getColumns();
-        this.board = new int[ROWS][COLUMNS];
-        for(int r = 0;r < ROWS;r++) {
-            for(int c = 0;c < COLUMNS;c++) {
-                board[r][c] = puzzle.board[r][c];
-            }
-        }
-        this.mutable = new boolean[ROWS][COLUMNS];
-        for(int r = 0;r < ROWS;r++) {
-            for(int c = 0;c < COLUMNS;c++) {
-                this.mutable[r][c] = puzzle.mutable[r][c];
-            }
-        }
+        this.cells = new byte[puzzle.cells.length];
+        System.arraycopy(puzzle.cells, 0, this.cells, 0, this.cells.length);
+        this.givens = new long[puzzle.givens.length];
+        System.arraycopy(puzzle.givens, 0, this.givens, 0, this.givens.length);
+        this.unitMasks = new long[puzzle.unitMasks.length];
+        System.arraycopy(puzzle.unitMasks, 0, this.unitMasks, 0, this.unitMasks.length);
     }
 
+    /**
+     * @return the standard game of the puzzle, or null if its board is not one of them
+     */
     public PuzzleType getPuzzleType(){
         return puzzleType;
     }
 
+    public BoardGeometry getGeometry(){
+        return geometry;
+    }
+
     public void makeMove(int row, int col, int value, boolean isMutable) {
         if(this.isValidValue(value) && this.isValidMove(row,col,value) && this.isSlotMutable(row, col)) {
-            this.board[row][col] = value;
-            this.mutable[row][col] = isMutable;
+            clearSlot(row, col);
+            int index = cellIndex(row, col);
+            this.cells[index] = (byte) value;
+            if(isMutable) {
+                this.givens[index >>> 6] &= ~(1L << index);
+            } else {
+                this.givens[index >>> 6] |= 1L << index;
+            }
+            long bit = valueBit(value);
+            this.unitMasks[rowUnit(row)] |= bit;
+            this.unitMasks[colUnit(col)] |= bit;
+            this.unitMasks[boxUnit(row, col)] |= bit;
         }
     }
 
-    public boolean isValidMove(int row,int col,int value) {
-        if(this.inRange(row,col)) {
-            if(!this.numInCol(col,value) && !this.numInRow(row,value) && !this.numInBox(row,col,value)) {
-                return true;
+    /**
+     * Replaces the content of the board with the values, given in row-major order, as immutable givens.
+     * Empty slots are {@link #NO_VALUE}; invalid values and values that conflict with an earlier one are
+     * skipped, as {@link #makeMove} would do. The board is validated in a single pass over the unit masks.
+     */
+    public void loadGivens(int[] values) {
+        final int ROWS = geometry.getRows();
+        final int COLUMNS = geometry.getColumns();
+        final int BOXHEIGHT = geometry.getBoxHeight();
+        final int BOXWIDTH = geometry.getBoxWidth();
+        final int BOXES_PER_ROW = COLUMNS / BOXWIDTH;
+        final int FIRST_COLUMN_UNIT = ROWS;
+        final int FIRST_BOX_UNIT = ROWS + COLUMNS;
+        Arrays.fill(this.cells, (byte) NO_VALUE);
+        Arrays.fill(this.givens, 0L);
+        Arrays.fill(this.unitMasks, 0L);
+
+        int index = 0;
+        for(int row = 0; row < ROWS; row++) {
+            int firstBox = FIRST_BOX_UNIT + (row / BOXHEIGHT) * BOXES_PER_ROW;
+            for(int col = 0; col < COLUMNS; col++, index++) {
+                int value = values[index];
+                if(value == NO_VALUE || !this.isValidValue(value)) {
+                    continue;
+                }
+                long bit = valueBit(value);
+                int box = firstBox + col / BOXWIDTH;
+                if(((this.unitMasks[row] | this.unitMasks[FIRST_COLUMN_UNIT + col] | this.unitMasks[box]) & bit) == 0) {
+                    this.cells[index] = (byte) value;
+                    this.givens[index >>> 6] |= 1L << index;
+                    this.unitMasks[row] |= bit;
+                    this.unitMasks[FIRST_COLUMN_UNIT + col] |= bit;
+                    this.unitMasks[box] |= bit;
+                }
             }
         }
+    }
+
+    public boolean isValidMove(int row,int col,int value) {
+        if(this.inRange(row,col) && this.isValidValue(value)) {
+            long used = this.unitMasks[rowUnit(row)] | this.unitMasks[colUnit(col)] | this.unitMasks[boxUnit(row, col)];
+            return (used & valueBit(value)) == 0;
+        }
         return false;
     }
 
     public boolean numInCol(int col,int value) {
-        final int ROWS = puzzleType.getRows();
-        final int COLUMNS = puzzleType.getColumns();
-        if(col < COLUMNS) {
-            for(int row=0;row < ROWS;row++) {
-                if(this.board[row][col]==value) {
-                    return true;
-                }
-            }
+        if(col >= 0 && col < geometry.getColumns() && this.isValidValue(value)) {
+            return (this.unitMasks[colUnit(col)] & valueBit(value)) != 0;
         }
         return false;
     }
 
     public boolean numInRow(int row,int value) {
-        final int ROWS = puzzleType.getRows();
-        final int COLUMNS = puzzleType.getColumns();
-        if(row < ROWS) {
-            for(int col=0;col < COLUMNS;col++) {
-                if(this.board[row][col]==value) {
-                    return true;
-                }
-            }
+        if(row >= 0 && row < geometry.getRows() && this.isValidValue(value)) {
+            return (this.unitMasks[rowUnit(row)] & valueBit(value)) != 0;
         }
         return false;
     }
 
     public boolean numInBox(int row,int col,int value) {
-        final int BOXHEIGHT = puzzleType.getBoxHeight();
-        final int BOXWIDTH = puzzleType.getBoxWidth();
-        if(this.inRange(row, col)) {
-            int boxRow = row / BOXHEIGHT;
-            int boxCol = col / BOXWIDTH;
-
-            int startingRow = (boxRow*BOXHEIGHT);
-            int startingCol = (boxCol*BOXWIDTH);
-
-            for(int r = startingRow;r <= (startingRow+BOXHEIGHT)-1;r++) {
-                for(int c = startingCol;c <= (startingCol+BOXWIDTH)-1;c++) {
-                    if(this.board[r][c]==value) {
-                        return true;
-                    }
-                }
-            }
+        if(this.inRange(row, col) && this.isValidValue(value)) {
+            return (this.unitMasks[boxUnit(row, col)] & valueBit(value)) != 0;
         }
         return false;
     }
 
     public boolean isSlotAvailable(int row,int col) {
-        return (this.inRange(row,col) && this.board[row][col]==NO_VALUE && this.isSlotMutable(row, col));
+        return (this.inRange(row,col) && this.cells[cellIndex(row, col)]==NO_VALUE && this.isSlotMutable(row, col));
     }
 
     public boolean isSlotMutable(int row,int col) {
-        return this.mutable[row][col];
+        int index = checkedCellIndex(row, col);
+        return (this.givens[index >>> 6] & (1L << index)) == 0;
     }
 
     public int getValue(int row,int col) {
         if(this.inRange(row,col)) {
-            return this.board[row][col];
+            return this.cells[cellIndex(row, col)];
         }
         return NO_VALUE;
     }
 
     public int [][] getBoard() {
-        final int ROWS = puzzleType.getRows();
-        final int COLUMNS = puzzleType.getColumns();
+        final int ROWS = geometry.getRows();
+        final int COLUMNS = geometry.getColumns();
         int[][] copy = new int[ROWS][COLUMNS];
         for(int r = 0; r < ROWS; r++) {
-            System.arraycopy(this.board[r], 0, copy[r], 0, COLUMNS);
+            for(int c = 0; c < COLUMNS; c++) {
+                copy[r][c] = this.cells[r * COLUMNS + c];
+            }
         }
         return copy;
     }
 
     private boolean isValidValue(int value) {
-        return value >= puzzleType.getMinValue() && value <= puzzleType.getMaxValue();
+        return value >= geometry.getMinValue() && value <= geometry.getMaxValue();
     }
 
     public boolean inRange(int row,int col) {
-        final int ROWS = puzzleType.getRows();
-        final int COLUMNS = puzzleType.getColumns();
+        final int ROWS = geometry.getRows();
+        final int COLUMNS = geometry.getColumns();
         return row < ROWS && col < COLUMNS && row >= 0 && col >= 0;
     }
 
     public boolean boardFull() {
-        final int ROWS = puzzleType.getRows();
-        final int COLUMNS = puzzleType.getColumns();
-        for(int r = 0;r < ROWS;r++) {
-            for(int c = 0;c < COLUMNS;c++) {
-                if(this.board[r][c] == NO_VALUE) return false;
-            }
+        for(byte value : this.cells) {
+            if(value == NO_VALUE) return false;
         }
         return true;
     }
 
     public void makeSlotEmpty(int row,int col) {
-        this.board[row][col] = NO_VALUE;
+        checkedCellIndex(row, col);
+        clearSlot(row, col);
+    }
+
+    private void clearSlot(int row, int col) {
+        int index = cellIndex(row, col);
+        int value = this.cells[index];
+        if(value != NO_VALUE) {
+            long bit = ~valueBit(value);
+            this.unitMasks[rowUnit(row)] &= bit;
+            this.unitMasks[colUnit(col)] &= bit;
+            this.unitMasks[boxUnit(row, col)] &= bit;
+            this.cells[index] = NO_VALUE;
+        }
+    }
+
+    private int cellIndex(int row, int col) {
+        return row * geometry.getColumns() + col;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the slot is outside the board
+     */
+    private int checkedCellIndex(int row, int col) {
+        Objects.checkIndex(row, geometry.getRows());
+        Objects.checkIndex(col, geometry.getColumns());
+        return cellIndex(row, col);
+    }
+
+    private int rowUnit(int row) {
+        return row;
+    }
+
+    private int colUnit(int col) {
+        return geometry.getRows() + col;
+    }
+
+    private int boxUnit(int row, int col) {
+        return geometry.getRows() + geometry.getColumns() + boxIndex(row, col);
+    }
+
+    private long valueBit(int value) {
+        return 1L << (value - geometry.getMinValue());
+    }
+
+    private int boxIndex(int row, int col) {
+        int boxesPerRow = geometry.getColumns() / geometry.getBoxWidth();
+        return (row / geometry.getBoxHeight()) * boxesPerRow + (col / geometry.getBoxWidth());
+    }
+
+    private int getNumberOfBoxes() {
+        return (geometry.getRows() / geometry.getBoxHeight()) * (geometry.getColumns() / geometry.getBoxWidth());
     }
 
     @Override
     public String toString() {
         final String newLine = System.lineSeparator();
-        final int ROWS = puzzleType.getRows();
-        final int COLUMNS = puzzleType.getColumns();
+        final int ROWS = geometry.getRows();
+        final int COLUMNS = geometry.getColumns();
         StringBuilder sb = new StringBuilder();
         sb.append("Game Board:").append(newLine);
         for(int row=0;row < ROWS;row++) {
             for(int col=0;col < COLUMNS;col++) {
-                sb.append(String.format("%2d", this.board[row][col])).append(" ");
+                sb.append(String.format("%2d", this.cells[row * COLUMNS + col])).append(" ");
             }
             sb.append(newLine);
         }
         sb.append(newLine);
         return sb.toString();
     }
-
-    private void initializeBoard() {
-        final int ROWS = puzzleType.getRows();
-        final int COLUMNS = puzzleType.getColumns();
-        for(int row = 0;row < ROWS;row++) {
-            for(int col = 0;col < COLUMNS;col++) {
-                this.board[row][col] = NO_VALUE;
-            }
-        }
-    }
-
-    private void initializeMutableSlots() {
-        final int ROWS = puzzleType.getRows();
-        final int COLUMNS = puzzleType.getColumns();
-        for(int row = 0;row < ROWS;row++) {
-            for(int col = 0;col < COLUMNS;col++) {
-                this.mutable[row][col] = true;
-            }
-        }
-    }
-}
\ No newline at end of file
+}
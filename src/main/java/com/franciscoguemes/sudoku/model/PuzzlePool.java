@@ -0,0 +1,167 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps puzzles of each {@link PuzzleType} ready, so that taking one does not wait for a generation.
+ * <p>
+ * Every type has its own queue, refilled up to the high-water mark by a background virtual thread with
+ * its own split of the {@link Generator}. Taking a puzzle is a queue poll; only when the queue is empty
+ * the puzzle is generated on the calling thread, with a second generator of the type that keeps its seed
+ * grids between calls. A pool can be shared between threads. Closing the pool cancels the generations in
+ * progress and waits for the workers to stop; the pool still hands out the puzzles left and generates new ones.
+ */
+public class PuzzlePool implements AutoCloseable {
+
+    public static final int DEFAULT_HIGH_WATER_MARK = 4;
+
+    private final Generator generator;
+    private final int highWaterMark;
+    private final Map<PuzzleType, TypePool> pools = new ConcurrentHashMap<>();
+    // Guarded by itself, so that no worker starts once the pool is closed
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+    private final CancellationToken cancellation = new CancellationToken();
+    private final SearchBudget workerBudget = SearchBudget.UNLIMITED.withCancellation(cancellation);
+    private volatile boolean closed;
+
+    public PuzzlePool() {
+        this(new Generator(), DEFAULT_HIGH_WATER_MARK);
+    }
+
+    /**
+     * @param generator source of the generators of the workers, which are split from it
+     * @param highWaterMark number of puzzles of each type kept ready
+     */
+    public PuzzlePool(Generator generator, int highWaterMark) {
+        if(highWaterMark <= 0) {
+            throw new IllegalArgumentException("High-water mark must be positive: " + highWaterMark);
+        }
+        this.generator = generator;
+        this.highWaterMark = highWaterMark;
+    }
+
+    /**
+     * Starts filling the queue of a type in the background, if it is not full already.
+     */
+    public void prefill(PuzzleType puzzleType) {
+        refill(puzzleType, pool(puzzleType));
+    }
+
+    /**
+     * Takes a ready puzzle, or generates one on the calling thread if there is none.
+     */
+    public Puzzle take(PuzzleType puzzleType) {
+        TypePool pool = pool(puzzleType);
+        Puzzle puzzle = pool.puzzles.poll();
+        refill(puzzleType, pool);
+        if(puzzle == null) {
+            synchronized(pool.fallback) {
+                puzzle = pool.fallback.generateRandomSudoku(puzzleType);
+            }
+        }
+        return puzzle;
+    }
+
+    /**
+     * @return the number of puzzles of the type ready to be taken
+     */
+    public int available(PuzzleType puzzleType) {
+        return pool(puzzleType).puzzles.size();
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Stops refilling the queues, cancels the generations in progress and waits for the workers to finish.
+     * If the calling thread is interrupted it stops waiting and keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        List<Thread> running;
+        synchronized(workers) {
+            closed = true;
+            running = List.copyOf(workers);
+        }
+        cancellation.cancel();
+        try {
+            for(Thread worker : running) {
+                worker.join();
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the number of background workers still running
+     */
+    int activeWorkers() {
+        return workers.size();
+    }
+
+    private TypePool pool(PuzzleType puzzleType) {
+        return pools.computeIfAbsent(puzzleType, type -> new TypePool(split(), split(), highWaterMark));
+    }
+
+    private Generator split() {
+        synchronized(generator) {
+            return generator.split();
+        }
+    }
+
+    /**
+     * Starts the worker of the type unless it is already running. The worker stops when the queue
+     * is full, so it checks again after clearing its flag in case a puzzle was taken meanwhile.
+     */
+    private void refill(PuzzleType puzzleType, TypePool pool) {
+        if(closed || pool.puzzles.remainingCapacity() == 0 || !pool.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized(workers) {
+            if(closed) {
+                pool.refilling.set(false);
+                return;
+            }
+            Thread worker = Thread.ofVirtual().name("puzzle-pool-" + puzzleType.name()).unstarted(() -> {
+                try {
+                    while(!closed && pool.puzzles.remainingCapacity() > 0) {
+                        GenerationResult result = pool.generator.generateRandomSudoku(puzzleType, workerBudget);
+                        if(result.getStatus() == GenerationResult.Status.GENERATED) {
+                            pool.puzzles.offer(result.getPuzzle());
+                        }
+                    }
+                } finally {
+                    pool.refilling.set(false);
+                    workers.remove(Thread.currentThread());
+                }
+                refill(puzzleType, pool);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    private static final class TypePool {
+
+        final BlockingQueue<Puzzle> puzzles;
+        // Only the worker holding the flag uses the generator
+        final Generator generator;
+        // Used by the callers of take when the queue is empty, guarded by itself
+        final Generator fallback;
+        final AtomicBoolean refilling = new AtomicBoolean();
+
+        TypePool(Generator generator, Generator fallback, int highWaterMark) {
+            this.puzzles = new ArrayBlockingQueue<>(highWaterMark);
+            this.generator = generator;
+            this.fallback = fallback;
+        }
+    }
+}
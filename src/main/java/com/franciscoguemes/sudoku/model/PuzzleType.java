@@ -14,6 +14,7 @@ public enum PuzzleType {
     private final int minValue;
     private final int maxValue;
     private final String description;
+    private final BoardGeometry geometry;
 
     private PuzzleType(int rows,int columns,int boxWidth,int boxHeight,int minValue, int maxValue,String desc) {
         this.rows = rows;
@@ -23,6 +24,19 @@ public enum PuzzleType {
         this.minValue = minValue;
         this.maxValue = maxValue;
         this.description = desc;
+        this.geometry = BoardGeometry.of(boxWidth, boxHeight);
+    }
+
+    /**
+     * @return the standard game played on that board, or null if the board is not one of them
+     */
+    public static PuzzleType of(BoardGeometry geometry) {
+        for(PuzzleType type : values()) {
+            if(type.geometry.equals(geometry)) {
+                return type;
+            }
+        }
+        return null;
     }
 
     public int getRows() {
@@ -53,4 +67,8 @@ public enum PuzzleType {
         return description;
     }
 
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
 }
@@ -0,0 +1,100 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.time.Duration;
+
+/**
+ * Limits on the work of a solve or a generation: a deadline, a number of search nodes and a
+ * {@link CancellationToken}. A run that exhausts its budget stops and reports
+ * {@link SolveResult.Status#BUDGET_EXCEEDED} instead of blocking the caller.
+ * <p>
+ * Budgets are immutable and start {@link #UNLIMITED}, e.g.
+ * {@code SearchBudget.UNLIMITED.withTimeout(Duration.ofMillis(50)).withMaxNodes(1_000_000)}.
+ * The deadline is fixed when {@link #withTimeout} is called, so one budget can bound several calls.
+ * Searches check the budget every few hundred nodes, so a run may go slightly past it.
+ */
+public final class SearchBudget {
+
+    public static final SearchBudget UNLIMITED = new SearchBudget(false, 0, Long.MAX_VALUE, null);
+
+    private final boolean hasDeadline;
+    // Value of System.nanoTime() when the time runs out
+    private final long deadline;
+    private final long maxNodes;
+    private final CancellationToken token;
+
+    private SearchBudget(boolean hasDeadline, long deadline, long maxNodes, CancellationToken token) {
+        this.hasDeadline = hasDeadline;
+        this.deadline = deadline;
+        this.maxNodes = maxNodes;
+        this.token = token;
+    }
+
+    /**
+     * @return this budget with a deadline the given time from now
+     */
+    public SearchBudget withTimeout(Duration timeout) {
+        if(timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout must not be negative: " + timeout);
+        }
+        long nanos;
+        try {
+            nanos = timeout.toNanos();
+        } catch(ArithmeticException e) {
+            nanos = Long.MAX_VALUE;
+        }
+        long now = System.nanoTime();
+        // Far away deadlines are capped so that the comparison with nanoTime does not overflow
+        return new SearchBudget(true, now + Math.min(nanos, Long.MAX_VALUE / 2), maxNodes, token);
+    }
+
+    /**
+     * @return this budget limited to the given number of search nodes
+     */
+    public SearchBudget withMaxNodes(long maxNodes) {
+        if(maxNodes < 0) {
+            throw new IllegalArgumentException("Maximum number of nodes must not be negative: " + maxNodes);
+        }
+        return new SearchBudget(hasDeadline, deadline, maxNodes, token);
+    }
+
+    /**
+     * @return this budget stopped by the given token
+     */
+    public SearchBudget withCancellation(CancellationToken token) {
+        if(token == null) {
+            throw new IllegalArgumentException("Cancellation token must not be null");
+        }
+        return new SearchBudget(hasDeadline, deadline, maxNodes, token);
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * @return the time left until the deadline, or null if there is no deadline
+     */
+    public Duration getRemainingTime() {
+        return hasDeadline ? Duration.ofNanos(Math.max(0, deadline - System.nanoTime())) : null;
+    }
+
+    boolean isUnlimited() {
+        return !hasDeadline && maxNodes == Long.MAX_VALUE && token == null;
+    }
+
+    /**
+     * @return true if the deadline passed, the token was cancelled or more than the maximum nodes were visited
+     */
+    boolean isExhausted(long nodes) {
+        return nodes > maxNodes
+                || (token != null && token.isCancelled())
+                || (hasDeadline && System.nanoTime() - deadline >= 0);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchBudget{deadline=" + (hasDeadline ? getRemainingTime() : "none")
+                + ", maxNodes=" + (maxNodes == Long.MAX_VALUE ? "none" : maxNodes)
+                + ", cancellable=" + (token != null) + "}";
+    }
+}
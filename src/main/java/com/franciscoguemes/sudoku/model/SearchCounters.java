@@ -0,0 +1,44 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * Mutable counters of one run, kept in plain fields by the thread that runs it, so counting costs
+ * an increment. They are turned into {@link SearchStats} and added to {@link SearchMetrics} when
+ * the run ends.
+ */
+final class SearchCounters {
+
+    long nodes;
+    long backtracks;
+    long propagationSteps;
+    int maxDepth;
+    long clueRemovalAttempts;
+
+    void reset() {
+        nodes = 0;
+        backtracks = 0;
+        propagationSteps = 0;
+        maxDepth = 0;
+        clueRemovalAttempts = 0;
+    }
+
+    void reachedDepth(int depth) {
+        if(depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    /**
+     * Adds the counters of a nested run that started at the given depth of this one.
+     */
+    void add(SearchCounters other, int depth) {
+        nodes += other.nodes;
+        backtracks += other.backtracks;
+        propagationSteps += other.propagationSteps;
+        reachedDepth(depth + other.maxDepth);
+        clueRemovalAttempts += other.clueRemovalAttempts;
+    }
+
+    SearchStats toStats(long wallTimeNanos) {
+        return new SearchStats(nodes, backtracks, propagationSteps, maxDepth, clueRemovalAttempts, wallTimeNanos);
+    }
+}
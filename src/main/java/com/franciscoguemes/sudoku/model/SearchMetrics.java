@@ -0,0 +1,97 @@
+package com.franciscoguemes.sudoku.model;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide totals of every solver and generator run. Runs count in plain fields and add their
+ * counters here once, when they end, into {@link LongAdder}s that do not contend between threads,
+ * so the metrics are cheap enough to stay on.
+ * <p>
+ * The solver totals include the solver runs made by the generators.
+ */
+public final class SearchMetrics {
+
+    private static final LongAdder SOLVER_RUNS = new LongAdder();
+    private static final LongAdder NODES = new LongAdder();
+    private static final LongAdder BACKTRACKS = new LongAdder();
+    private static final LongAdder PROPAGATION_STEPS = new LongAdder();
+    private static final LongAccumulator MAX_DEPTH = new LongAccumulator(Math::max, 0);
+    private static final LongAdder SOLVER_NANOS = new LongAdder();
+
+    private static final LongAdder GENERATIONS = new LongAdder();
+    private static final LongAdder CLUE_REMOVAL_ATTEMPTS = new LongAdder();
+    private static final LongAdder GENERATION_NANOS = new LongAdder();
+
+    private SearchMetrics() {
+    }
+
+    static void recordSolverRun(SearchCounters counters, long wallTimeNanos) {
+        SOLVER_RUNS.increment();
+        NODES.add(counters.nodes);
+        BACKTRACKS.add(counters.backtracks);
+        PROPAGATION_STEPS.add(counters.propagationSteps);
+        MAX_DEPTH.accumulate(counters.maxDepth);
+        SOLVER_NANOS.add(wallTimeNanos);
+    }
+
+    static void recordGeneration(SearchCounters counters, long wallTimeNanos) {
+        GENERATIONS.increment();
+        CLUE_REMOVAL_ATTEMPTS.add(counters.clueRemovalAttempts);
+        GENERATION_NANOS.add(wallTimeNanos);
+    }
+
+    public static long getSolverRuns() {
+        return SOLVER_RUNS.sum();
+    }
+
+    public static long getNodes() {
+        return NODES.sum();
+    }
+
+    public static long getBacktracks() {
+        return BACKTRACKS.sum();
+    }
+
+    public static long getPropagationSteps() {
+        return PROPAGATION_STEPS.sum();
+    }
+
+    /**
+     * @return the deepest search of all the solver runs
+     */
+    public static long getMaxDepth() {
+        return MAX_DEPTH.get();
+    }
+
+    public static long getSolverTimeNanos() {
+        return SOLVER_NANOS.sum();
+    }
+
+    public static long getGenerations() {
+        return GENERATIONS.sum();
+    }
+
+    public static long getClueRemovalAttempts() {
+        return CLUE_REMOVAL_ATTEMPTS.sum();
+    }
+
+    public static long getGenerationTimeNanos() {
+        return GENERATION_NANOS.sum();
+    }
+
+    /**
+     * Sets every total back to 0. Runs that end at the same time may be partly counted.
+     */
+    public static void reset() {
+        SOLVER_RUNS.reset();
+        NODES.reset();
+        BACKTRACKS.reset();
+        PROPAGATION_STEPS.reset();
+        MAX_DEPTH.reset();
+        SOLVER_NANOS.reset();
+        GENERATIONS.reset();
+        CLUE_REMOVAL_ATTEMPTS.reset();
+        GENERATION_NANOS.reset();
+    }
+}
@@ -0,0 +1,16 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * Solutions found by a nested run that shares the node budget of its caller, and whether the
+ * budget ran out before the run finished, in which case the solutions are not to be trusted.
+ */
+final class SearchOutcome {
+
+    final int solutions;
+    final boolean budgetExceeded;
+
+    SearchOutcome(int solutions, boolean budgetExceeded) {
+        this.solutions = solutions;
+        this.budgetExceeded = budgetExceeded;
+    }
+}
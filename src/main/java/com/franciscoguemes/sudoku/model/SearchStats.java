@@ -0,0 +1,70 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * What a solver or generator run did, as counted by the run itself.
+ * The counters a run does not use are 0, e.g. the clue removal attempts of a solve.
+ */
+public final class SearchStats {
+
+    private final long nodes;
+    private final long backtracks;
+    private final long propagationSteps;
+    private final int maxDepth;
+    private final long clueRemovalAttempts;
+    private final long wallTimeNanos;
+
+    SearchStats(long nodes, long backtracks, long propagationSteps, int maxDepth, long clueRemovalAttempts, long wallTimeNanos) {
+        this.nodes = nodes;
+        this.backtracks = backtracks;
+        this.propagationSteps = propagationSteps;
+        this.maxDepth = maxDepth;
+        this.clueRemovalAttempts = clueRemovalAttempts;
+        this.wallTimeNanos = wallTimeNanos;
+    }
+
+    /**
+     * @return the number of values placed by the search, guesses included
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the number of times the search ran out of candidates for a slot and went back a level
+     */
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    /**
+     * @return the number of rows, columns and boxes processed by the constraint propagation
+     */
+    public long getPropagationSteps() {
+        return propagationSteps;
+    }
+
+    /**
+     * @return the deepest level of guesses reached by the search
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return the number of clues the generator tried to remove
+     */
+    public long getClueRemovalAttempts() {
+        return clueRemovalAttempts;
+    }
+
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchStats{nodes=" + nodes + ", backtracks=" + backtracks + ", propagationSteps=" + propagationSteps
+                + ", maxDepth=" + maxDepth + ", clueRemovalAttempts=" + clueRemovalAttempts
+                + ", wallTimeNanos=" + wallTimeNanos + "}";
+    }
+}
@@ -0,0 +1,55 @@
+package com.franciscoguemes.sudoku.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of one public solver call. Solvers are called thousands of times per generated
+ * puzzle, so the event has no stack trace, and its fields are only filled in when it is going to be
+ * recorded: with recording off, {@link #begin()} and {@link #shouldCommit()} do nothing and the event
+ * object is removed by the JIT.
+ */
+@Name("com.franciscoguemes.sudoku.Solve")
+@Label("Solve")
+@Category({"Sudoku", "Solver"})
+@Description("A puzzle solved or its solutions counted")
+@StackTrace(false)
+final class SolveEvent extends Event {
+
+    @Label("Solver")
+    String solver;
+
+    @Label("Puzzle Type")
+    String puzzleType;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Solutions")
+    int solutions;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Backtracks")
+    long backtracks;
+
+    /**
+     * Records the event if it is enabled and passes the threshold.
+     */
+    void commit(Solver solver, Puzzle puzzle, SolveResult.Status status, int solutions, SearchCounters counters) {
+        if(shouldCommit()) {
+            this.solver = solver.getClass().getSimpleName();
+            this.puzzleType = puzzle.getPuzzleType() != null ? puzzle.getPuzzleType().name() : puzzle.getGeometry().toString();
+            this.outcome = status.name();
+            this.solutions = solutions;
+            this.nodes = counters.nodes;
+            this.backtracks = counters.backtracks;
+            commit();
+        }
+    }
+}
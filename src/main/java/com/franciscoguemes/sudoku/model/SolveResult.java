@@ -0,0 +1,51 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * Result of {@link Solver#solve(Puzzle, SearchBudget)}: whether the puzzle was solved and what the search did.
+ */
+public final class SolveResult {
+
+    public enum Status {
+        SOLVED,
+        UNSOLVABLE,
+        /**
+         * The search stopped when its {@link SearchBudget} ran out, before knowing whether there is a solution.
+         */
+        BUDGET_EXCEEDED
+    }
+
+    private final Status status;
+    private final SearchStats stats;
+
+    SolveResult(Status status, SearchStats stats) {
+        this.status = status;
+        this.stats = stats;
+    }
+
+    /**
+     * @return the status of a search that found the given number of solutions
+     */
+    static Status statusOf(int solutions, boolean budgetExceeded) {
+        if(budgetExceeded) {
+            return Status.BUDGET_EXCEEDED;
+        }
+        return solutions > 0 ? Status.SOLVED : Status.UNSOLVABLE;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return "SolveResult{status=" + status + ", stats=" + stats + "}";
+    }
+}
@@ -0,0 +1,28 @@
+package com.franciscoguemes.sudoku.model;
+
+public interface Solver {
+
+    /**
+     * Solves the puzzle in place. The empty slots of the puzzle are filled with mutable values.
+     * @return true if a solution was found, false otherwise (the puzzle is left unchanged)
+     */
+    boolean solve(Puzzle puzzle);
+
+    /**
+     * Counts the solutions of the puzzle, stopping as soon as the limit is reached.
+     * A limit of 2 is enough to check that a puzzle has a unique solution. The puzzle is not modified.
+     * @return the number of solutions found, never greater than the limit
+     */
+    int countSolutions(Puzzle puzzle, int limit);
+
+    /**
+     * Solves the puzzle in place like {@link #solve}, also counting what the search did.
+     */
+    SolveResult solveWithStats(Puzzle puzzle);
+
+    /**
+     * Solves the puzzle in place unless the budget runs out first, in which case the result is
+     * {@link SolveResult.Status#BUDGET_EXCEEDED} and the puzzle is left unchanged.
+     */
+    SolveResult solve(Puzzle puzzle, SearchBudget budget);
+}
@@ -0,0 +1,34 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * Human solving techniques known by the {@link DifficultyGrader}, in increasing order of cost.
+ */
+public enum Technique {
+
+    NAKED_SINGLE(1, "Naked single"),
+    HIDDEN_SINGLE(2, "Hidden single"),
+    NAKED_PAIR(5, "Naked pair"),
+    HIDDEN_PAIR(7, "Hidden pair"),
+    NAKED_TRIPLE(8, "Naked triple"),
+    HIDDEN_TRIPLE(10, "Hidden triple"),
+    POINTING(12, "Pointing pair/triple"),
+    BOX_LINE_REDUCTION(12, "Box/line reduction"),
+    X_WING(20, "X-Wing"),
+    SWORDFISH(30, "Swordfish");
+
+    private final int cost;
+    private final String description;
+
+    private Technique(int cost, String description) {
+        this.cost = cost;
+        this.description = description;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -1,10 +1,26 @@
 package com.franciscoguemes.sudoku.textui;
 
+import com.franciscoguemes.sudoku.model.BoardGeometry;
 import com.franciscoguemes.sudoku.model.Puzzle;
-import com.franciscoguemes.sudoku.model.PuzzleType;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Renders the board with the box borders. The separator lines and the text of every value are
+ * built once per {@link BoardGeometry}, so rendering only appends cached strings.
+ */
 abstract class AbstractPuzzlePrinter implements PuzzlePrinter {
 
+    // Characters buffered by renderAll before they are appended to the output
+    private static final int BATCH_SIZE = 1 << 16;
+
+    private final Map<BoardGeometry, Layout> layouts = new ConcurrentHashMap<>();
+
     @Override
     public void print(Puzzle puzzle) {
         System.out.print(render(puzzle));
@@ -12,41 +28,95 @@ abstract class AbstractPuzzlePrinter implements PuzzlePrinter {
 
     @Override
     public String render(Puzzle puzzle) {
-        PuzzleType type = puzzle.getPuzzleType();
-        int rows = type.getRows();
-        int cols = type.getColumns();
-        int boxWidth = type.getBoxWidth();
-        int boxHeight = type.getBoxHeight();
-        int cellWidth = getCellWidth(type);
-
-        String separator = buildSeparator(cols, boxWidth, cellWidth);
-        String newLine = System.lineSeparator();
-        StringBuilder sb = new StringBuilder();
+        Layout layout = getLayout(puzzle.getGeometry());
+        StringBuilder sb = new StringBuilder(layout.length);
+        try {
+            render(puzzle, sb);
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void render(Puzzle puzzle, Appendable out) throws IOException {
+        BoardGeometry geometry = puzzle.getGeometry();
+        Layout layout = getLayout(geometry);
+        int rows = geometry.getRows();
+        int cols = geometry.getColumns();
+        int boxWidth = geometry.getBoxWidth();
+        int boxHeight = geometry.getBoxHeight();
 
         for (int r = 0; r < rows; r++) {
             if (r % boxHeight == 0) {
-                sb.append(separator).append(newLine);
+                out.append(layout.separator);
             }
             for (int c = 0; c < cols; c++) {
                 if (c % boxWidth == 0) {
-                    sb.append("| ");
+                    out.append("| ");
                 }
-                int internalValue = puzzle.getValue(r, c);
-                renderValue(internalValue, sb, cellWidth);
-                sb.append(" ");
+                out.append(layout.glyphs[puzzle.getValue(r, c)]).append(' ');
             }
-            sb.append("|").append(newLine);
+            out.append(layout.rowEnd);
         }
-        sb.append(separator).append(newLine);
+        out.append(layout.separator);
+    }
 
-        return sb.toString();
+    @Override
+    public void renderAll(Stream<Puzzle> puzzles, Appendable out) throws IOException {
+        StringBuilder sb = new StringBuilder(BATCH_SIZE);
+        for (Iterator<Puzzle> iterator = puzzles.iterator(); iterator.hasNext(); ) {
+            render(iterator.next(), sb);
+            if (sb.length() >= BATCH_SIZE) {
+                out.append(sb);
+                sb.setLength(0);
+            }
+        }
+        out.append(sb);
     }
 
-    protected abstract int getCellWidth(PuzzleType type);
+    protected abstract int getCellWidth(BoardGeometry geometry);
+
+    /**
+     * @return the text of the value, exactly cellWidth characters wide
+     */
+    protected abstract String renderValue(int internalValue, int cellWidth);
+
+    private Layout getLayout(BoardGeometry geometry) {
+        Layout layout = layouts.get(geometry);
+        if (layout == null) {
+            layout = new Layout(geometry);
+            layouts.putIfAbsent(geometry, layout);
+        }
+        return layout;
+    }
 
-    protected abstract void renderValue(int internalValue, StringBuilder sb, int cellWidth);
+    private final class Layout {
+
+        final String separator;
+        final String rowEnd;
+        // Text of each value, indexed by the value
+        final String[] glyphs;
+        // Characters of a whole board
+        final int length;
+
+        Layout(BoardGeometry geometry) {
+            String newLine = System.lineSeparator();
+            int cellWidth = getCellWidth(geometry);
+            this.separator = buildSeparator(geometry.getColumns(), geometry.getBoxWidth(), cellWidth) + newLine;
+            this.rowEnd = "|" + newLine;
+            this.glyphs = new String[geometry.getMaxValue() + 1];
+            for (int value = 0; value < glyphs.length; value++) {
+                glyphs[value] = renderValue(value, cellWidth);
+            }
+            int boxCols = geometry.getColumns() / geometry.getBoxWidth();
+            int rowLength = geometry.getColumns() * (cellWidth + 1) + 2 * boxCols + rowEnd.length();
+            this.length = geometry.getRows() * rowLength + (geometry.getRows() / geometry.getBoxHeight() + 1) * separator.length();
+        }
+    }
 
-    private String buildSeparator(int cols, int boxWidth, int cellWidth) {
+    private static String buildSeparator(int cols, int boxWidth, int cellWidth) {
         int boxCols = cols / boxWidth;
         int segmentWidth = boxWidth * (cellWidth + 1) + 1;
         StringBuilder sb = new StringBuilder();
@@ -1,8 +1,8 @@
 package com.franciscoguemes.sudoku.textui;
 
 import com.franciscoguemes.sudoku.io.PuzzleReader;
-import com.franciscoguemes.sudoku.model.Generator;
 import com.franciscoguemes.sudoku.model.Puzzle;
+import com.franciscoguemes.sudoku.model.PuzzlePool;
 import com.franciscoguemes.sudoku.model.PuzzleType;
 
 import java.io.IOException;
@@ -27,12 +27,19 @@ public class ConsoleUI {
     }
 
     private void runInteractive() {
-        PuzzleType type = promptPuzzleType();
-        System.out.println("Generating " + type.getDescription() + "...");
-        Generator generator = new Generator();
-        Puzzle puzzle = generator.generateRandomSudoku(type);
-        System.out.println();
-        printer.print(puzzle);
+        try (PuzzlePool pool = new PuzzlePool()) {
+            // Generate in the background while the user is choosing
+            for (PuzzleType type : PuzzleType.values()) {
+                pool.prefill(type);
+            }
+            PuzzleType type = promptPuzzleType();
+            if (pool.available(type) == 0) {
+                System.out.println("Generating " + type.getDescription() + "...");
+            }
+            Puzzle puzzle = pool.take(type);
+            System.out.println();
+            printer.print(puzzle);
+        }
     }
 
     private void runWithFile(Path filePath) {
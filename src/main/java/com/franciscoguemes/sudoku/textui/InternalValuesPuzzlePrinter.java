@@ -1,21 +1,18 @@
 package com.franciscoguemes.sudoku.textui;
 
+import com.franciscoguemes.sudoku.model.BoardGeometry;
 import com.franciscoguemes.sudoku.model.Puzzle;
-import com.franciscoguemes.sudoku.model.PuzzleType;
 
 public class InternalValuesPuzzlePrinter extends AbstractPuzzlePrinter {
 
     @Override
-    protected int getCellWidth(PuzzleType type) {
-        return String.valueOf(type.getMaxValue()).length();
+    protected int getCellWidth(BoardGeometry geometry) {
+        return String.valueOf(geometry.getMaxValue()).length();
     }
 
     @Override
-    protected void renderValue(int internalValue, StringBuilder sb, int cellWidth) {
-        if (internalValue == Puzzle.NO_VALUE) {
-            sb.append(String.format("%" + cellWidth + "s", "."));
-            return;
-        }
-        sb.append(String.format("%" + cellWidth + "d", internalValue));
+    protected String renderValue(int internalValue, int cellWidth) {
+        String text = internalValue == Puzzle.NO_VALUE ? "." : String.valueOf(internalValue);
+        return " ".repeat(cellWidth - text.length()) + text;
     }
 }
@@ -2,9 +2,30 @@ package com.franciscoguemes.sudoku.textui;
 
 import com.franciscoguemes.sudoku.model.Puzzle;
 
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
 public interface PuzzlePrinter {
 
     void print(Puzzle puzzle);
 
     String render(Puzzle puzzle);
+
+    /**
+     * Appends the rendered puzzle to out, without building an intermediate string.
+     */
+    default void render(Puzzle puzzle, Appendable out) throws IOException {
+        out.append(render(puzzle));
+    }
+
+    /**
+     * Renders the puzzles one after the other, appending them to out in large chunks, which suits
+     * dumping many puzzles to a {@link java.io.Writer}.
+     */
+    default void renderAll(Stream<Puzzle> puzzles, Appendable out) throws IOException {
+        for (Iterator<Puzzle> iterator = puzzles.iterator(); iterator.hasNext(); ) {
+            render(iterator.next(), out);
+        }
+    }
 }
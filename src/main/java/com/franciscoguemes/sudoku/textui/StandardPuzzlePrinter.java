@@ -1,25 +1,30 @@
 package com.franciscoguemes.sudoku.textui;
 
+import com.franciscoguemes.sudoku.model.BoardGeometry;
 import com.franciscoguemes.sudoku.model.Puzzle;
-import com.franciscoguemes.sudoku.model.PuzzleType;
 
 public class StandardPuzzlePrinter extends AbstractPuzzlePrinter {
 
+    // Values up to 35 are one digit or letter; larger boards are printed in decimal
+    private static final int MAX_LETTER_VALUE = 35;
+
     @Override
-    protected int getCellWidth(PuzzleType type) {
-        return 1;
+    protected int getCellWidth(BoardGeometry geometry) {
+        return geometry.getMaxValue() > MAX_LETTER_VALUE ? String.valueOf(geometry.getMaxValue()).length() : 1;
     }
 
     @Override
-    protected void renderValue(int internalValue, StringBuilder sb, int cellWidth) {
+    protected String renderValue(int internalValue, int cellWidth) {
+        if (cellWidth > 1) {
+            String text = internalValue == Puzzle.NO_VALUE ? "." : String.valueOf(internalValue);
+            return " ".repeat(cellWidth - text.length()) + text;
+        }
         if (internalValue == Puzzle.NO_VALUE) {
-            sb.append(".");
-            return;
+            return ".";
         }
         if (internalValue > 9) {
-            sb.append((char) ('A' + internalValue - 10));
-        } else {
-            sb.append(internalValue);
+            return String.valueOf((char) ('A' + internalValue - 10));
         }
+        return String.valueOf(internalValue);
     }
 }
@@ -0,0 +1,205 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.Generator;
+import com.franciscoguemes.sudoku.model.Puzzle;
+import com.franciscoguemes.sudoku.model.PuzzleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BinaryPuzzleReader Tests")
+class BinaryPuzzleReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final BinaryPuzzleReader reader = new BinaryPuzzleReader();
+
+    @Test
+    @DisplayName("Round-trips the hardest sudoku through the binary format")
+    void testRoundTripHardestSudoku() throws IOException {
+        Puzzle puzzle;
+        try (InputStream is = getClass().getResourceAsStream("/puzzles/Hardest_in_the_world.csv")) {
+            puzzle = new CsvPuzzleReader().read(is);
+        }
+        puzzle.makeMove(0, 1, 1, true);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryPuzzleWriter writer = new BinaryPuzzleWriter(out, PuzzleType.SUDOKU)) {
+            writer.write(puzzle);
+        }
+        Puzzle read = reader.read(new ByteArrayInputStream(out.toByteArray()));
+
+        // 16 bytes of header, 81 slots of 4 bits and 81 bits of givens
+        assertEquals(16 + 41 + 11, out.size());
+        assertSamePuzzle(puzzle, read);
+        assertTrue(read.isSlotMutable(0, 1));
+        assertFalse(read.isSlotMutable(0, 0));
+    }
+
+    @Test
+    @DisplayName("Decodes any puzzle of a memory-mapped file for every size")
+    void testRandomAccess() throws IOException {
+        Generator generator = new Generator(16L);
+        for (PuzzleType type : new PuzzleType[]{PuzzleType.MINI_SUDOKU, PuzzleType.SUDOKU, PuzzleType.BIG_SUDOKU}) {
+            List<Puzzle> puzzles = new ArrayList<>();
+            Path file = tempDir.resolve(type.name() + PuzzleReader.BINARY_EXTENSION);
+            try (OutputStream os = Files.newOutputStream(file); BinaryPuzzleWriter writer = new BinaryPuzzleWriter(os, type)) {
+                for (int i = 0; i < 20; i++) {
+                    Puzzle puzzle = generator.generateRandomSudoku(type);
+                    puzzles.add(puzzle);
+                    writer.write(puzzle);
+                }
+            }
+
+            BinaryPuzzleCorpus corpus = reader.open(file);
+
+            assertEquals(type, corpus.getPuzzleType());
+            assertEquals(20, corpus.size());
+            for (int i : new int[]{19, 0, 7}) {
+                assertSamePuzzle(puzzles.get(i), corpus.get(i));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> corpus.get(20));
+        }
+    }
+
+    @Test
+    @DisplayName("Packs 16x16 slots in 5 bits")
+    void testMaxiSudoku() throws IOException {
+        Puzzle puzzle = new Puzzle(PuzzleType.MAXI_SUDOKU);
+        puzzle.makeMove(15, 15, 16, false);
+        puzzle.makeMove(0, 0, 1, false);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryPuzzleWriter writer = new BinaryPuzzleWriter(out, PuzzleType.MAXI_SUDOKU)) {
+            writer.write(puzzle);
+        }
+
+        assertEquals(16 + 160 + 32, out.size());
+        assertSamePuzzle(puzzle, reader.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    @DisplayName("Rejects files that are not binary puzzle files")
+    void testRejectsOtherFiles() throws IOException {
+        try (InputStream is = getClass().getResourceAsStream("/puzzles/Hardest_in_the_world.csv")) {
+            assertThrows(IOException.class, () -> reader.read(is));
+        }
+    }
+
+    @Test
+    @DisplayName("The binary extension selects the binary reader")
+    void testReaderForFile() throws IOException {
+        assertInstanceOf(BinaryPuzzleReader.class, PuzzleReader.getReaderForFile(Path.of("corpus.sdkb")));
+    }
+
+    @Test
+    @DisplayName("Streams all the puzzles of a binary stream")
+    void testReadAll() throws IOException {
+        Generator generator = new Generator(17L);
+        List<Puzzle> puzzles = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryPuzzleWriter writer = new BinaryPuzzleWriter(out, PuzzleType.SUDOKU)) {
+            for (int i = 0; i < 5; i++) {
+                Puzzle puzzle = generator.generateRandomSudoku(PuzzleType.SUDOKU);
+                puzzles.add(puzzle);
+                writer.write(puzzle);
+            }
+        }
+
+        List<Puzzle> read;
+        try (Stream<Puzzle> stream = reader.readAll(new ByteArrayInputStream(out.toByteArray()))) {
+            read = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(puzzles.size(), read.size());
+        for (int i = 0; i < puzzles.size(); i++) {
+            assertSamePuzzle(puzzles.get(i), read.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects records with values out of range or repeated, naming the record")
+    void testRejectsCorruptRecords() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryPuzzleWriter writer = new BinaryPuzzleWriter(out, PuzzleType.SUDOKU)) {
+            writer.write(new Puzzle(PuzzleType.SUDOKU));
+            writer.write(new Puzzle(PuzzleType.SUDOKU));
+        }
+        byte[] bytes = out.toByteArray();
+        int recordSize = (bytes.length - BinaryPuzzleFormat.HEADER_SIZE) / 2;
+        byte[] outOfRange = bytes.clone();
+        // Code 15 is value 15 of a 9x9 board
+        outOfRange[BinaryPuzzleFormat.HEADER_SIZE] = (byte) 0xF0;
+        byte[] repeated = bytes.clone();
+        // Value 1 in the first two slots of the second record
+        repeated[BinaryPuzzleFormat.HEADER_SIZE + recordSize] = 0x11;
+
+        IOException e = assertThrows(IOException.class, () -> reader.read(new ByteArrayInputStream(outOfRange)));
+        assertTrue(e.getMessage().contains("record 0"), e.getMessage());
+        try (Stream<Puzzle> stream = reader.readAll(new ByteArrayInputStream(repeated))) {
+            UncheckedIOException u = assertThrows(UncheckedIOException.class, () -> stream.collect(Collectors.toList()));
+            assertTrue(u.getCause().getMessage().contains("record 1"), u.getCause().getMessage());
+        }
+        Path file = tempDir.resolve("corrupt" + PuzzleReader.BINARY_EXTENSION);
+        Files.write(file, repeated);
+        BinaryPuzzleCorpus corpus = reader.open(file);
+        assertNotNull(corpus.get(0));
+        assertThrows(UncheckedIOException.class, () -> corpus.get(1));
+    }
+
+    private void assertSamePuzzle(Puzzle expected, Puzzle actual) {
+        PuzzleType type = expected.getPuzzleType();
+        assertEquals(type, actual.getPuzzleType());
+        for (int r = 0; r < type.getRows(); r++) {
+            for (int c = 0; c < type.getColumns(); c++) {
+                assertEquals(expected.getValue(r, c), actual.getValue(r, c), "Value at (" + r + "," + c + ")");
+                assertEquals(expected.isSlotMutable(r, c), actual.isSlotMutable(r, c), "Mutability at (" + r + "," + c + ")");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("read closes the stream, also when the file is truncated")
+    void testReadClosesStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryPuzzleWriter writer = new BinaryPuzzleWriter(out, PuzzleType.SUDOKU)) {
+            writer.write(new Puzzle(PuzzleType.SUDOKU));
+        }
+        byte[] bytes = out.toByteArray();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        reader.read(closeTracking(bytes, closed));
+        assertTrue(closed.get());
+
+        closed.set(false);
+        assertThrows(IOException.class, () -> reader.read(closeTracking(Arrays.copyOf(bytes, bytes.length - 1), closed)));
+        assertTrue(closed.get());
+    }
+
+    private static InputStream closeTracking(byte[] content, AtomicBoolean closed) {
+        return new ByteArrayInputStream(content) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+    }
+}
@@ -9,6 +9,12 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -177,4 +183,83 @@ class CsvPuzzleReaderTest {
         assertThrows(IOException.class, () ->
                 reader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
     }
+
+    @Test
+    @DisplayName("Reads several puzzles separated by delimiter lines")
+    void testReadAll() {
+        String row = ",,,,,,,,\n";
+        String csv = "1" + row + row.repeat(8) + CsvPuzzleReader.DELIMITER + "\n"
+                + "2" + row + row.repeat(8) + CsvPuzzleReader.DELIMITER + "\n"
+                + "1,2,3,4,5,6\n" + ",,,,,\n".repeat(5);
+
+        List<Puzzle> puzzles = reader.readAll(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))
+                .collect(Collectors.toList());
+
+        assertEquals(3, puzzles.size());
+        assertEquals(1, puzzles.get(0).getValue(0, 0));
+        assertEquals(2, puzzles.get(1).getValue(0, 0));
+        assertEquals(PuzzleType.MINI_SUDOKU, puzzles.get(2).getPuzzleType());
+        assertEquals(6, puzzles.get(2).getValue(0, 5));
+    }
+
+    @Test
+    @DisplayName("Reading a single puzzle returns the first one")
+    void testReadReturnsFirstPuzzle() throws IOException {
+        String row = ",,,,,,,,\n";
+        String csv = "7" + row + row.repeat(8) + CsvPuzzleReader.DELIMITER + "\n" + "8" + row + row.repeat(8);
+
+        Puzzle puzzle = reader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(7, puzzle.getValue(0, 0));
+    }
+
+    @Test
+    @DisplayName("Throws IOException with the line number for invalid values")
+    void testInvalidValue() {
+        String row = ",,,,,,,,\n";
+        String csv = row + "1,x,,,,,,,\n" + row.repeat(7);
+
+        IOException e = assertThrows(IOException.class, () ->
+                reader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(e.getMessage().contains("line 2"));
+    }
+
+    @Test
+    @DisplayName("The same reader can read several files")
+    void testReaderIsReusable() throws IOException {
+        String row = ",,,,,,,,\n";
+        Puzzle first = reader.read(new ByteArrayInputStream(("5" + row + row.repeat(8)).getBytes(StandardCharsets.UTF_8)));
+        Puzzle second = reader.read(new ByteArrayInputStream(("1,2,3,4,5,6\n" + ",,,,,\n".repeat(5)).getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(5, first.getValue(0, 0));
+        assertEquals(PuzzleType.MINI_SUDOKU, second.getPuzzleType());
+        assertEquals(Puzzle.NO_VALUE, second.getValue(1, 0));
+    }
+
+    @Test
+    @DisplayName("The same reader can be shared between threads")
+    void testReaderIsThreadSafe() throws Exception {
+        String row = ",,,,,,,,\n";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int value = t + 1;
+                byte[] csv = (value + row + row.repeat(8)).getBytes(StandardCharsets.UTF_8);
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        if (reader.read(new ByteArrayInputStream(csv)).getValue(0, 0) != value) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
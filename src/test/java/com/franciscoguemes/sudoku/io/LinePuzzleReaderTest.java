@@ -0,0 +1,132 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.Puzzle;
+import com.franciscoguemes.sudoku.model.PuzzleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LinePuzzleReader Tests")
+class LinePuzzleReaderTest {
+
+    private static final String HARDEST =
+            "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..";
+
+    @TempDir
+    Path tempDir;
+
+    private final LinePuzzleReader reader = new LinePuzzleReader();
+
+    @Test
+    @DisplayName("Reads the hardest sudoku from one line")
+    void testReadHardestSudoku() throws IOException {
+        Puzzle puzzle = reader.read(stream(HARDEST + "\n"));
+
+        assertEquals(PuzzleType.SUDOKU, puzzle.getPuzzleType());
+        assertEquals(8, puzzle.getValue(0, 0));
+        assertEquals(3, puzzle.getValue(1, 2));
+        assertEquals(6, puzzle.getValue(1, 3));
+        assertEquals(4, puzzle.getValue(8, 6));
+        assertEquals(Puzzle.NO_VALUE, puzzle.getValue(0, 1));
+        assertFalse(puzzle.isSlotMutable(0, 0));
+        assertTrue(puzzle.isSlotMutable(0, 1));
+    }
+
+    @Test
+    @DisplayName("Reads every puzzle of the stream, skipping blank lines and comments")
+    void testReadAll() {
+        String content = "# corpus\r\n" + HARDEST + "\r\n\n" + HARDEST.replace('.', '0') + "\n"
+                + "8 . . . . . . . . . . 3 6 . . . . . . 7 . . 9 . 2 . . . 5 . . . 7 . . . . . . . 4 5 7 . . . . . 1 . . . 3 . . . 1 . . . . 6 8 . . 8 5 . . . 1 . . 9 . . . . 4 . .";
+
+        List<Puzzle> puzzles = reader.readAll(stream(content)).collect(Collectors.toList());
+
+        assertEquals(3, puzzles.size());
+        for (Puzzle puzzle : puzzles) {
+            assertEquals(8, puzzle.getValue(0, 0));
+            assertEquals(4, puzzle.getValue(8, 6));
+        }
+    }
+
+    @Test
+    @DisplayName("Reads 16x16 puzzles with letters for the values above 9")
+    void testReadMaxiSudoku() throws IOException {
+        StringBuilder line = new StringBuilder("123456789ABCDEFG");
+        line.append(".".repeat(240));
+
+        Puzzle puzzle = reader.read(stream(line.toString()));
+
+        assertEquals(PuzzleType.MAXI_SUDOKU, puzzle.getPuzzleType());
+        assertEquals(9, puzzle.getValue(0, 8));
+        assertEquals(10, puzzle.getValue(0, 9));
+        assertEquals(16, puzzle.getValue(0, 15));
+    }
+
+    @Test
+    @DisplayName("Parses lazily")
+    void testReadAllIsLazy() {
+        Stream<Puzzle> puzzles = reader.readAll(stream(HARDEST + "\nnot a puzzle\n"));
+
+        assertTrue(puzzles.findFirst().isPresent());
+    }
+
+    @Test
+    @DisplayName("Rejects invalid characters, sizes and values")
+    void testRejectsInvalidLines() {
+        assertThrows(IOException.class, () -> reader.read(stream(HARDEST.replace('8', 'x'))));
+        assertThrows(IOException.class, () -> reader.read(stream(HARDEST.substring(1))));
+        assertThrows(IOException.class, () -> reader.read(stream(HARDEST.replace('8', 'A'))));
+        assertThrows(IOException.class, () -> reader.read(stream("\n# nothing\n")));
+        assertThrows(UncheckedIOException.class, () -> reader.readAll(stream(HARDEST + "\n123\n")).count());
+    }
+
+    @Test
+    @DisplayName("Streams a large file")
+    void testReadLargeFile() throws IOException {
+        Path file = tempDir.resolve("corpus" + PuzzleReader.LINE_EXTENSION);
+        Files.write(file, Collections.nCopies(20_000, HARDEST));
+
+        try (Stream<Puzzle> puzzles = ((LinePuzzleReader) PuzzleReader.getReaderForFile(file)).readAll(file)) {
+            assertEquals(20_000, puzzles.count());
+        }
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("read closes the stream, also when the input is invalid")
+    void testReadClosesStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        assertDoesNotThrow(() -> reader.read(closeTracking(HARDEST + "\n", closed)));
+        assertTrue(closed.get());
+
+        closed.set(false);
+        assertThrows(IOException.class, () -> reader.read(closeTracking("8x\n", closed)));
+        assertTrue(closed.get());
+    }
+
+    private static InputStream closeTracking(String content, AtomicBoolean closed) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+    }
+}
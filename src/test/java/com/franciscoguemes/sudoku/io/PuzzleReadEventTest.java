@@ -0,0 +1,59 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.Puzzle;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PuzzleReadEvent Tests")
+class PuzzleReadEventTest {
+
+    private static final String EVENT_NAME = "com.franciscoguemes.sudoku.PuzzleRead";
+    private static final String LINE = "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("read and readAll record the format, the bytes and the number of puzzles")
+    void testReadEvents() throws IOException {
+        byte[] input = (LINE + LINE + LINE).getBytes(StandardCharsets.US_ASCII);
+
+        try (Recording recording = new Recording()) {
+            recording.enable(PuzzleReadEvent.class).withoutThreshold();
+            recording.start();
+            new LinePuzzleReader().read(new ByteArrayInputStream(input));
+            try (Stream<Puzzle> puzzles = new LinePuzzleReader().readAll(new ByteArrayInputStream(input))) {
+                assertEquals(3, puzzles.count());
+            }
+            recording.stop();
+            Path file = tempDir.resolve("read.jfr");
+            recording.dump(file);
+
+            long threadId = Thread.currentThread().threadId();
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals(EVENT_NAME))
+                    .filter(e -> e.getThread() != null && e.getThread().getJavaThreadId() == threadId)
+                    .collect(Collectors.toList());
+            assertEquals(2, events.size());
+            assertEquals("LinePuzzleReader", events.get(0).getString("format"));
+            assertEquals(1, events.get(0).getInt("puzzles"));
+            assertEquals(input.length, events.get(0).getLong("bytes"));
+            assertEquals(3, events.get(1).getInt("puzzles"));
+            assertEquals(input.length, events.get(1).getLong("bytes"));
+        }
+    }
+}
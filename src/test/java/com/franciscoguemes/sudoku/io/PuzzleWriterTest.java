@@ -0,0 +1,178 @@
+package com.franciscoguemes.sudoku.io;
+
+import com.franciscoguemes.sudoku.model.BoardGeometry;
+import com.franciscoguemes.sudoku.model.Generator;
+import com.franciscoguemes.sudoku.model.Puzzle;
+import com.franciscoguemes.sudoku.model.PuzzleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PuzzleWriter Tests")
+class PuzzleWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Writes the hardest sudoku as CSV like the resource file")
+    void testCsvFormat() throws IOException {
+        Puzzle puzzle = readHardestSudoku();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PuzzleWriter writer = new CsvPuzzleWriter(out)) {
+            writer.write(puzzle);
+        }
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("8,0,0,0,0,0,0,0,0\n0,0,3,6,0,0,0,0,0\n"));
+        assertEquals(9, csv.lines().count());
+    }
+
+    @Test
+    @DisplayName("Writes the hardest sudoku in the .sudoku format")
+    void testSudokuFormat() throws IOException {
+        Puzzle puzzle = readHardestSudoku();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PuzzleWriter writer = new SudokuFormatPuzzleWriter(out)) {
+            writer.write(puzzle);
+        }
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("8 . . . . . . . .\n. . 3 6 . . . . .\n"));
+    }
+
+    @Test
+    @DisplayName("Writes one puzzle per line with letters for the values above 9")
+    void testLineFormat() throws IOException {
+        Puzzle puzzle = new Puzzle(PuzzleType.MAXI_SUDOKU);
+        puzzle.makeMove(0, 0, 16, false);
+        puzzle.makeMove(0, 1, 9, false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PuzzleWriter writer = new LinePuzzleWriter(out)) {
+            writer.write(puzzle);
+            writer.write(puzzle);
+        }
+
+        String line = "G9" + ".".repeat(254) + "\n";
+        assertEquals(line + line, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Every format reads back the puzzles written, of several sizes")
+    void testRoundTrip() throws IOException {
+        Generator generator = new Generator(20L);
+        List<Puzzle> puzzles = new ArrayList<>();
+        for (PuzzleType type : new PuzzleType[]{PuzzleType.MINI_SUDOKU, PuzzleType.SUDOKU, PuzzleType.BIG_SUDOKU}) {
+            puzzles.add(generator.generateRandomSudoku(type));
+            puzzles.add(generator.generateRandomSudoku(type));
+        }
+
+        assertRoundTrip(puzzles, new CsvPuzzleReader(), CsvPuzzleWriter::new);
+        assertRoundTrip(puzzles, new SudokuFormatPuzzleReader(), SudokuFormatPuzzleWriter::new);
+        assertRoundTrip(puzzles, new LinePuzzleReader(), LinePuzzleWriter::new);
+    }
+
+    @Test
+    @DisplayName("The writer for a file is chosen by its extension")
+    void testGetWriterForFile() throws IOException {
+        Puzzle puzzle = readHardestSudoku();
+        for (String extension : new String[]{PuzzleReader.CSV_EXTENSION, PuzzleReader.SUDOKU_EXTENSION,
+                PuzzleReader.LINE_EXTENSION, PuzzleReader.BINARY_EXTENSION}) {
+            Path file = tempDir.resolve("puzzles" + extension);
+            try (PuzzleWriter writer = PuzzleWriter.getWriterForFile(file)) {
+                writer.writeAll(Stream.of(puzzle, puzzle));
+            }
+            try (Stream<Puzzle> read = PuzzleReader.getReaderForFile(file).readAll(file)) {
+                List<Puzzle> list = read.collect(Collectors.toList());
+                assertEquals(2, list.size(), extension);
+                assertSameValues(puzzle, list.get(1));
+            }
+        }
+        assertThrows(IOException.class, () -> PuzzleWriter.getWriterForFile(tempDir.resolve("puzzle.txt")));
+    }
+
+    @Test
+    @DisplayName("More puzzles than fit in the buffer are all written")
+    void testManyPuzzles() throws IOException {
+        Puzzle puzzle = readHardestSudoku();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PuzzleWriter writer = new CsvPuzzleWriter(out)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.write(puzzle);
+            }
+        }
+
+        try (Stream<Puzzle> read = new CsvPuzzleReader().readAll(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(1000, read.count());
+        }
+    }
+
+    private interface WriterFactory {
+        PuzzleWriter create(ByteArrayOutputStream out);
+    }
+
+    private static void assertRoundTrip(List<Puzzle> puzzles, PuzzleReader reader, WriterFactory factory) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PuzzleWriter writer = factory.create(out)) {
+            writer.writeAll(puzzles.stream());
+        }
+        List<Puzzle> read;
+        try (Stream<Puzzle> stream = reader.readAll(new ByteArrayInputStream(out.toByteArray()))) {
+            read = stream.collect(Collectors.toList());
+        }
+        assertEquals(puzzles.size(), read.size());
+        for (int i = 0; i < puzzles.size(); i++) {
+            assertSameValues(puzzles.get(i), read.get(i));
+        }
+    }
+
+    private static void assertSameValues(Puzzle expected, Puzzle actual) {
+        assertEquals(expected.getGeometry(), actual.getGeometry());
+        for (int r = 0; r < expected.getGeometry().getRows(); r++) {
+            assertArrayEquals(expected.getBoard()[r], actual.getBoard()[r]);
+        }
+    }
+
+    private Puzzle readHardestSudoku() throws IOException {
+        try (InputStream is = getClass().getResourceAsStream("/puzzles/Hardest_in_the_world.csv")) {
+            return new CsvPuzzleReader().read(is);
+        }
+    }
+
+    @Test
+    @DisplayName("25x25 and 36x36 boards round-trip through the formats that fit their values")
+    void testLargeBoards() throws IOException {
+        List<Puzzle> puzzles = new ArrayList<>();
+        for (BoardGeometry geometry : new BoardGeometry[]{BoardGeometry.ofSize(25), BoardGeometry.ofSize(36)}) {
+            Puzzle puzzle = new Puzzle(geometry);
+            for (int i = 0; i < geometry.getRows(); i++) {
+                puzzle.makeMove(i, i, i + 1, false);
+            }
+            puzzles.add(puzzle);
+        }
+
+        assertRoundTrip(puzzles, new CsvPuzzleReader(), CsvPuzzleWriter::new);
+        assertRoundTrip(puzzles, new SudokuFormatPuzzleReader(), SudokuFormatPuzzleWriter::new);
+        assertRoundTrip(puzzles.subList(0, 1), new LinePuzzleReader(), LinePuzzleWriter::new);
+        assertThrows(IllegalArgumentException.class, () -> new LinePuzzleWriter(new ByteArrayOutputStream()).write(puzzles.get(1)));
+        for (Puzzle puzzle : puzzles) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (PuzzleWriter writer = new BinaryPuzzleWriter(out)) {
+                writer.write(puzzle);
+            }
+            assertSameValues(puzzle, new BinaryPuzzleReader().read(new ByteArrayInputStream(out.toByteArray())));
+        }
+    }
+}
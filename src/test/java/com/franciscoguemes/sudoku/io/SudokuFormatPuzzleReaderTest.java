@@ -9,6 +9,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -180,4 +183,42 @@ class SudokuFormatPuzzleReaderTest {
         assertThrows(IOException.class, () ->
                 reader.read(new ByteArrayInputStream(new byte[0])));
     }
+
+    @Test
+    @DisplayName("Reads several puzzles separated by blank lines")
+    void testReadAll() throws IOException {
+        String row = ". . . . . . . . .\n";
+        String sudoku = "# two puzzles\n\n1" + row.substring(1) + row.repeat(8) + "\n\n"
+                + "# second\n" + row.repeat(8) + ". . . . . . . . 9\n";
+
+        List<Puzzle> puzzles;
+        try (Stream<Puzzle> stream = reader.readAll(new ByteArrayInputStream(sudoku.getBytes(StandardCharsets.UTF_8)))) {
+            puzzles = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(2, puzzles.size());
+        assertEquals(1, puzzles.get(0).getValue(0, 0));
+        assertEquals(9, puzzles.get(1).getValue(8, 8));
+        assertEquals(0, puzzles.get(1).getValue(0, 0));
+    }
+
+    @Test
+    @DisplayName("Reading all the puzzles of a file with one puzzle")
+    void testReadAllSinglePuzzleFile() throws IOException {
+        try (InputStream is = getClass().getResourceAsStream("/puzzles/Hardest_in_the_world.sudoku");
+             Stream<Puzzle> puzzles = reader.readAll(is)) {
+            assertEquals(1, puzzles.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Throws IOException with the line number for invalid values")
+    void testInvalidValue() {
+        String row = ". . . . . . . . .\n";
+        String sudoku = "# comment\n" + row + ". 1 x . . . . . .\n" + row.repeat(7);
+
+        IOException e = assertThrows(IOException.class, () ->
+                reader.read(new ByteArrayInputStream(sudoku.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(e.getMessage().contains("line 3"));
+    }
 }
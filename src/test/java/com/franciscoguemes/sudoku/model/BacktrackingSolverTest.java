@@ -0,0 +1,203 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BacktrackingSolver Tests")
+class BacktrackingSolverTest {
+
+    private Solver solver;
+
+    @BeforeEach
+    void setUp() {
+        solver = new BacktrackingSolver();
+    }
+
+    @Test
+    @DisplayName("Solves the hardest sudoku in the world")
+    void testSolveHardest() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        assertTrue(solver.solve(puzzle));
+        assertEquals(TestPuzzles.HARDEST_SOLUTION, TestPuzzles.format(puzzle));
+    }
+
+    @Test
+    @DisplayName("Given values stay immutable and solved values are mutable")
+    void testSolveKeepsMutability() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        solver.solve(puzzle);
+
+        assertFalse(puzzle.isSlotMutable(0, 0));
+        assertTrue(puzzle.isSlotMutable(0, 1));
+        assertTrue(puzzle.boardFull());
+    }
+
+    @Test
+    @DisplayName("Unsolvable puzzle returns false and is left unchanged")
+    void testUnsolvablePuzzle() {
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+        // 1..8 in the first row and 9 in the column of the only free slot of that row
+        for(int c = 0; c < 8; c++) {
+            puzzle.makeMove(0, c, c + 1, false);
+        }
+        puzzle.makeMove(5, 8, 9, false);
+
+        assertFalse(solver.solve(puzzle));
+        assertEquals(Puzzle.NO_VALUE, puzzle.getValue(0, 8));
+        assertEquals(Puzzle.NO_VALUE, puzzle.getValue(1, 0));
+    }
+
+    @Test
+    @DisplayName("Solver instance can be reused across puzzle types")
+    void testReuseAcrossTypes() {
+        for(PuzzleType type : PuzzleType.values()) {
+            Puzzle puzzle = new Puzzle(type);
+            assertTrue(solver.solve(puzzle), "Empty " + type + " should be solvable");
+            assertTrue(puzzle.boardFull());
+        }
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+        assertTrue(solver.solve(puzzle));
+        assertEquals(TestPuzzles.HARDEST_SOLUTION, TestPuzzles.format(puzzle));
+    }
+
+    @Test
+    @DisplayName("countSolutions returns 1 for a puzzle with a unique solution")
+    void testCountSolutionsUnique() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        assertEquals(1, solver.countSolutions(puzzle, 2));
+        assertEquals(Puzzle.NO_VALUE, puzzle.getValue(0, 1), "countSolutions must not modify the puzzle");
+    }
+
+    @Test
+    @DisplayName("countSolutions stops at the limit")
+    void testCountSolutionsStopsAtLimit() {
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+
+        assertEquals(2, solver.countSolutions(puzzle, 2));
+        assertEquals(10, solver.countSolutions(puzzle, 10));
+    }
+
+    @Test
+    @DisplayName("countSolutions finds exactly two solutions when they exist")
+    void testCountSolutionsTwoSolutions() {
+        // Rows 0 and 1 hold 2 and 3 swapped in columns 2 and 5, so emptying the rectangle allows two solutions
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST_SOLUTION);
+        puzzle.makeSlotEmpty(0, 2);
+        puzzle.makeSlotEmpty(0, 5);
+        puzzle.makeSlotEmpty(1, 2);
+        puzzle.makeSlotEmpty(1, 5);
+
+        assertEquals(2, solver.countSolutions(puzzle, 5));
+    }
+
+    @Test
+    @DisplayName("countSolutions returns 0 for an unsolvable puzzle")
+    void testCountSolutionsUnsolvable() {
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+        for(int c = 0; c < 8; c++) {
+            puzzle.makeMove(0, c, c + 1, false);
+        }
+        puzzle.makeMove(5, 8, 9, false);
+
+        assertEquals(0, solver.countSolutions(puzzle, 2));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    @DisplayName("Solves an empty 16x16 puzzle quickly")
+    void testSolveEmptyMaxiSudoku() {
+        Puzzle puzzle = new Puzzle(PuzzleType.MAXI_SUDOKU);
+
+        assertTrue(solver.solve(puzzle));
+        assertTrue(puzzle.boardFull());
+    }
+
+    @Test
+    @DisplayName("Solves boards of geometries defined at runtime, beyond 32 values")
+    void testSolveLargeBoards() {
+        for(BoardGeometry geometry : new BoardGeometry[]{BoardGeometry.ofSize(25), BoardGeometry.ofSize(36)}) {
+            Puzzle puzzle = TestPuzzles.pattern(geometry, 2);
+
+            assertTrue(solver.solve(puzzle), geometry.toString());
+            assertTrue(puzzle.boardFull(), geometry.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("solveWithStats counts the search and adds it to the process-wide metrics")
+    void testSolveWithStats() {
+        long nodesBefore = SearchMetrics.getNodes();
+        long runsBefore = SearchMetrics.getSolverRuns();
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        SolveResult result = solver.solveWithStats(puzzle);
+
+        assertTrue(result.isSolved());
+        assertEquals(TestPuzzles.HARDEST_SOLUTION, TestPuzzles.format(puzzle));
+        SearchStats stats = result.getStats();
+        assertTrue(stats.getNodes() > 0);
+        assertTrue(stats.getBacktracks() > 0);
+        assertTrue(stats.getPropagationSteps() > 0);
+        assertTrue(stats.getMaxDepth() > 0 && stats.getMaxDepth() <= 81);
+        assertTrue(stats.getWallTimeNanos() > 0);
+        assertTrue(SearchMetrics.getSolverRuns() > runsBefore);
+        assertTrue(SearchMetrics.getNodes() - nodesBefore >= stats.getNodes());
+    }
+
+    @Test
+    @DisplayName("solveWithStats of an unsolvable puzzle reports it and counts the runs separately")
+    void testSolveWithStatsUnsolvable() {
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+        for(int c = 0; c < 8; c++) {
+            puzzle.makeMove(0, c, c + 1, false);
+        }
+        puzzle.makeMove(5, 8, 9, false);
+        long hardestNodes = solver.solveWithStats(TestPuzzles.parse(TestPuzzles.HARDEST)).getStats().getNodes();
+
+        SolveResult result = solver.solveWithStats(puzzle);
+
+        assertEquals(SolveResult.Status.UNSOLVABLE, result.getStatus());
+        assertTrue(result.getStats().getNodes() < hardestNodes);
+    }
+
+    @Test
+    @DisplayName("A search that runs out of nodes reports the budget exceeded and leaves the puzzle unchanged")
+    void testNodeBudgetExceeded() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        SolveResult result = solver.solve(puzzle, SearchBudget.UNLIMITED.withMaxNodes(1000));
+
+        assertEquals(SolveResult.Status.BUDGET_EXCEEDED, result.getStatus());
+        assertFalse(result.isSolved());
+        assertTrue(result.getStats().getNodes() > 1000 && result.getStats().getNodes() < 2000);
+        assertEquals(TestPuzzles.HARDEST, TestPuzzles.format(puzzle));
+    }
+
+    @Test
+    @DisplayName("A cancelled or expired budget stops the search, a large one does not")
+    void testCancelledAndExpiredBudgets() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        SearchBudget cancelled = SearchBudget.UNLIMITED.withCancellation(token);
+        SearchBudget expired = SearchBudget.UNLIMITED.withTimeout(Duration.ZERO);
+        SearchBudget large = SearchBudget.UNLIMITED.withTimeout(Duration.ofMinutes(1)).withMaxNodes(1_000_000);
+
+        assertEquals(SolveResult.Status.BUDGET_EXCEEDED, solver.solve(TestPuzzles.parse(TestPuzzles.HARDEST), cancelled).getStatus());
+        assertEquals(SolveResult.Status.BUDGET_EXCEEDED, solver.solve(TestPuzzles.parse(TestPuzzles.HARDEST), expired).getStatus());
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+        assertEquals(SolveResult.Status.SOLVED, solver.solve(puzzle, large).getStatus());
+        assertEquals(TestPuzzles.HARDEST_SOLUTION, TestPuzzles.format(puzzle));
+        // The budget only applies to the call it was given to
+        assertTrue(solver.solve(TestPuzzles.parse(TestPuzzles.HARDEST)));
+    }
+}
@@ -0,0 +1,126 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BatchSolver Tests")
+class BatchSolverTest {
+
+    private BatchSolver batchSolver;
+
+    @BeforeEach
+    void setUp() {
+        batchSolver = new BatchSolver(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchSolver.close();
+    }
+
+    @Test
+    @DisplayName("Emits results in input order")
+    void testResultsInInputOrder() {
+        List<BatchSolver.Result> results = new ArrayList<>();
+        Stream<Puzzle> puzzles = IntStream.range(0, 200)
+                .mapToObj(i -> TestPuzzles.parse(i % 2 == 0 ? TestPuzzles.HARDEST : TestPuzzles.EASY));
+
+        batchSolver.solve(puzzles, results::add);
+
+        assertEquals(200, results.size());
+        for(int i = 0; i < results.size(); i++) {
+            BatchSolver.Result result = results.get(i);
+            assertEquals(i, result.getIndex());
+            assertTrue(result.isSolved());
+            String expected = i % 2 == 0 ? TestPuzzles.HARDEST_SOLUTION : TestPuzzles.EASY_SOLUTION;
+            assertEquals(expected, TestPuzzles.format(result.getPuzzle()));
+        }
+    }
+
+    @Test
+    @DisplayName("Summary counts solved and unsolvable puzzles")
+    void testSummary() {
+        Puzzle unsolvable = new Puzzle(PuzzleType.SUDOKU);
+        for(int c = 0; c < 8; c++) {
+            unsolvable.makeMove(0, c, c + 1, false);
+        }
+        unsolvable.makeMove(5, 8, 9, false);
+        List<Puzzle> puzzles = List.of(TestPuzzles.parse(TestPuzzles.EASY), unsolvable, TestPuzzles.parse(TestPuzzles.HARDEST));
+
+        List<Boolean> solved = new ArrayList<>();
+        BatchSolver.Summary summary = batchSolver.solve(puzzles.iterator(), result -> solved.add(result.isSolved()));
+
+        assertEquals(List.of(true, false, true), solved);
+        assertEquals(3, summary.getPuzzles());
+        assertEquals(2, summary.getSolved());
+        assertTrue(summary.getPuzzlesPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("Empty input produces an empty summary")
+    void testEmptyInput() {
+        BatchSolver.Summary summary = batchSolver.solve(Collections.<Puzzle>emptyIterator(), result -> fail("No result expected"));
+
+        assertEquals(0, summary.getPuzzles());
+    }
+
+    @Test
+    @DisplayName("Uses the solver created by the factory")
+    void testSolverFactory() {
+        try(BatchSolver dancingLinks = new BatchSolver(2, DancingLinksSolver::new)) {
+            List<String> solutions = new ArrayList<>();
+            dancingLinks.solve(Stream.of(TestPuzzles.parse(TestPuzzles.HARDEST)),
+                    result -> solutions.add(TestPuzzles.format(result.getPuzzle())));
+
+            assertEquals(List.of(TestPuzzles.HARDEST_SOLUTION), solutions);
+        }
+    }
+
+    @Test
+    @DisplayName("Closing closes every solver created by the factory")
+    void testCloseClosesSolvers() {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        BatchSolver closing = new BatchSolver(3, () -> {
+            created.incrementAndGet();
+            return new ClosingSolver(closed);
+        });
+        closing.solve(IntStream.range(0, 50).mapToObj(i -> TestPuzzles.parse(TestPuzzles.EASY)), result -> { });
+
+        closing.close();
+
+        assertTrue(created.get() > 0);
+        assertEquals(created.get(), closed.get());
+    }
+
+    @Test
+    @DisplayName("Rejects a non positive number of threads")
+    void testInvalidThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchSolver(0));
+    }
+
+    private static final class ClosingSolver extends BacktrackingSolver implements AutoCloseable {
+
+        private final AtomicInteger closed;
+
+        ClosingSolver(AtomicInteger closed) {
+            this.closed = closed;
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+}
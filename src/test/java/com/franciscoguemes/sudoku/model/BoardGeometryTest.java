@@ -0,0 +1,65 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BoardGeometry Tests")
+class BoardGeometryTest {
+
+    @Test
+    @DisplayName("The standard games are found by geometry")
+    void testStandardGames() {
+        for(PuzzleType type : PuzzleType.values()) {
+            BoardGeometry geometry = type.getGeometry();
+
+            assertEquals(type.getRows(), geometry.getRows());
+            assertEquals(type.getColumns(), geometry.getColumns());
+            assertEquals(type.getBoxWidth(), geometry.getBoxWidth());
+            assertEquals(type.getBoxHeight(), geometry.getBoxHeight());
+            assertEquals(type.getMaxValue(), geometry.getMaxValue());
+            assertSame(type, PuzzleType.of(geometry));
+            assertEquals(geometry, BoardGeometry.ofSize(type.getRows()));
+        }
+        assertSame(PuzzleType.MINI_SUDOKU, PuzzleType.of(BoardGeometry.of(3, 2)));
+        assertNull(PuzzleType.of(BoardGeometry.of(2, 3)));
+        assertNull(PuzzleType.of(BoardGeometry.ofSize(25)));
+    }
+
+    @Test
+    @DisplayName("Geometries created at runtime are equal values with square-like boxes")
+    void testRuntimeGeometries() {
+        BoardGeometry geometry = BoardGeometry.ofSize(25);
+
+        assertEquals(geometry, BoardGeometry.of(5, 5));
+        assertEquals(geometry.hashCode(), BoardGeometry.of(5, 5).hashCode());
+        assertEquals(25, geometry.getRows());
+        assertEquals(25, geometry.getColumns());
+        assertEquals(5, geometry.getBoxWidth());
+        assertEquals(25, geometry.getMaxValue());
+        assertEquals(6, BoardGeometry.ofSize(36).getBoxHeight());
+        assertEquals(5, BoardGeometry.ofSize(20).getBoxWidth());
+        assertNotEquals(BoardGeometry.of(3, 2), BoardGeometry.of(2, 3));
+    }
+
+    @Test
+    @DisplayName("Puzzles of other boards have no puzzle type")
+    void testPuzzleOfRuntimeGeometry() {
+        Puzzle standard = new Puzzle(BoardGeometry.of(3, 3));
+        Puzzle large = new Puzzle(BoardGeometry.ofSize(25));
+
+        assertSame(PuzzleType.SUDOKU, standard.getPuzzleType());
+        assertNull(large.getPuzzleType());
+        assertEquals(BoardGeometry.ofSize(25), new Puzzle(large).getGeometry());
+    }
+
+    @Test
+    @DisplayName("Sizes without boxes or beyond the largest board are rejected")
+    void testUnsupportedGeometries() {
+        assertThrows(IllegalArgumentException.class, () -> BoardGeometry.ofSize(7));
+        assertThrows(IllegalArgumentException.class, () -> BoardGeometry.ofSize(0));
+        assertThrows(IllegalArgumentException.class, () -> BoardGeometry.of(9, 9));
+        assertThrows(IllegalArgumentException.class, () -> BoardGeometry.of(1, 9));
+    }
+}
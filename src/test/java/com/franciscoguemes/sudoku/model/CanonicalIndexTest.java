@@ -0,0 +1,73 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CanonicalIndex Tests")
+class CanonicalIndexTest {
+
+    @Test
+    @DisplayName("Adds a puzzle once up to symmetry")
+    void testAddIsUpToSymmetry() {
+        CanonicalIndex index = new CanonicalIndex(PuzzleType.SUDOKU);
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        assertTrue(index.add(puzzle));
+        assertFalse(index.add(GridTransformer.transpose(puzzle)));
+        assertTrue(index.contains(GridTransformer.swapBands(puzzle, 0, 2)));
+        assertFalse(index.contains(TestPuzzles.parse(TestPuzzles.EASY)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Accepts canonical keys")
+    void testAddKey() {
+        CanonicalIndex index = new CanonicalIndex(PuzzleType.SUDOKU);
+        CanonicalKey key = new Canonicalizer().canonicalKey(TestPuzzles.parse(TestPuzzles.EASY));
+
+        assertTrue(index.add(key));
+        assertFalse(index.add(TestPuzzles.parse(TestPuzzles.EASY)));
+        assertTrue(index.contains(key));
+    }
+
+    @Test
+    @DisplayName("Dedupes a stream of puzzles while growing")
+    void testDedupeStream() {
+        Generator generator = new Generator(99L);
+        GridTransformer transformer = new GridTransformer(new SplittableRandom(99L));
+        List<Puzzle> puzzles = new ArrayList<>();
+        for(int i = 0; i < 50; i++) {
+            Puzzle puzzle = generator.generateRandomSudoku(PuzzleType.MINI_SUDOKU);
+            puzzles.add(puzzle);
+            puzzles.add(transformer.randomize(puzzle));
+        }
+        CanonicalIndex index = new CanonicalIndex(PuzzleType.MINI_SUDOKU, 0);
+        CanonicalIndex expected = new CanonicalIndex(PuzzleType.MINI_SUDOKU, 0);
+        for(int i = 0; i < puzzles.size(); i += 2) {
+            expected.add(puzzles.get(i));
+        }
+
+        long distinct = puzzles.stream().filter(index::add).count();
+
+        assertEquals(expected.size(), distinct);
+        assertEquals(expected.size(), index.size());
+        for(Puzzle puzzle : puzzles) {
+            assertTrue(index.contains(puzzle));
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects puzzles of another type")
+    void testRejectsOtherType() {
+        CanonicalIndex index = new CanonicalIndex(PuzzleType.SUDOKU);
+
+        assertThrows(IllegalArgumentException.class, () -> index.add(new Puzzle(PuzzleType.MINI_SUDOKU)));
+        assertThrows(IllegalArgumentException.class, () -> new CanonicalIndex(PuzzleType.SUDOKU, -1));
+    }
+}
@@ -0,0 +1,108 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Canonicalizer Tests")
+class CanonicalizerTest {
+
+    private Canonicalizer canonicalizer;
+
+    @BeforeEach
+    void setUp() {
+        canonicalizer = new Canonicalizer();
+    }
+
+    @Test
+    @DisplayName("Symmetric puzzles have the same key for every size")
+    void testTransformedPuzzlesHaveSameKey() {
+        Generator generator = new Generator(8L);
+        GridTransformer transformer = new GridTransformer(new SplittableRandom(8L));
+        for(PuzzleType type : PuzzleType.values()) {
+            Puzzle puzzle = generator.generateRandomSudoku(type);
+            CanonicalKey key = canonicalizer.canonicalKey(puzzle);
+            for(int i = 0; i < 10; i++) {
+                assertEquals(key, canonicalizer.canonicalKey(transformer.randomize(puzzle)), type.name());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Each single symmetry keeps the key")
+    void testSingleSymmetries() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+        CanonicalKey key = canonicalizer.canonicalKey(puzzle);
+
+        assertEquals(key, canonicalizer.canonicalKey(GridTransformer.transpose(puzzle)));
+        assertEquals(key, canonicalizer.canonicalKey(GridTransformer.swapRows(puzzle, 0, 2)));
+        assertEquals(key, canonicalizer.canonicalKey(GridTransformer.swapColumns(puzzle, 4, 5)));
+        assertEquals(key, canonicalizer.canonicalKey(GridTransformer.swapBands(puzzle, 0, 1)));
+        assertEquals(key, canonicalizer.canonicalKey(GridTransformer.swapStacks(puzzle, 0, 2)));
+        assertEquals(key, canonicalizer.canonicalKey(GridTransformer.relabel(puzzle, new int[]{2, 3, 4, 5, 6, 7, 8, 9, 1})));
+    }
+
+    @Test
+    @DisplayName("Different puzzles have different keys")
+    void testDifferentPuzzlesHaveDifferentKeys() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+        Puzzle other = new Puzzle(puzzle);
+        other.makeSlotEmpty(0, 0);
+
+        assertNotEquals(canonicalizer.canonicalKey(puzzle), canonicalizer.canonicalKey(TestPuzzles.parse(TestPuzzles.EASY)));
+        assertNotEquals(canonicalizer.canonicalKey(puzzle), canonicalizer.canonicalKey(other));
+    }
+
+    @Test
+    @DisplayName("The canonical form is an equivalent puzzle and its own canonical form")
+    void testCanonicalForm() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        Puzzle canonical = canonicalizer.canonicalForm(puzzle);
+
+        assertEquals(1, new DancingLinksSolver().countSolutions(canonical, 2));
+        assertEquals(canonicalizer.canonicalKey(puzzle), canonicalizer.canonicalKey(canonical));
+        assertEquals(TestPuzzles.format(canonical), TestPuzzles.format(canonicalizer.canonicalForm(canonical)));
+        assertEquals(0, canonical.getValue(0, 0), "empty slots sort first");
+    }
+
+    @Test
+    @DisplayName("Keys are packed into longs")
+    void testKeyIsPacked() {
+        CanonicalKey key = canonicalizer.canonicalKey(TestPuzzles.parse(TestPuzzles.EASY));
+
+        // 81 slots of 4 bits, 16 slots per long
+        assertEquals(6, key.getWordCount());
+        assertEquals(PuzzleType.SUDOKU, key.getPuzzleType());
+    }
+
+    @Test
+    @DisplayName("Full grids that are equal up to symmetry have the same key")
+    void testFullGrids() {
+        Puzzle grid = TestPuzzles.parse(TestPuzzles.EASY_SOLUTION);
+        Puzzle transformed = new GridTransformer(new SplittableRandom(2L)).randomize(grid);
+
+        assertEquals(canonicalizer.canonicalKey(grid), canonicalizer.canonicalKey(transformed));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    @DisplayName("Solved and empty 16x16 boards are canonicalized quickly")
+    void testMaxiSudokuBoards() {
+        GridTransformer transformer = new GridTransformer(new SplittableRandom(16L));
+        Puzzle empty = new Puzzle(PuzzleType.MAXI_SUDOKU);
+        Puzzle grid = new Puzzle(empty);
+        assertTrue(new DancingLinksSolver().solve(grid));
+        grid = transformer.randomize(grid);
+
+        assertEquals(canonicalizer.canonicalKey(grid), canonicalizer.canonicalKey(transformer.randomize(grid)));
+        assertEquals(canonicalizer.canonicalKey(empty), canonicalizer.canonicalKey(transformer.randomize(empty)));
+        assertNotEquals(canonicalizer.canonicalKey(grid), canonicalizer.canonicalKey(empty));
+    }
+}
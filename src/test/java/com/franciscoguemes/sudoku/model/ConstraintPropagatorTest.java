@@ -0,0 +1,104 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConstraintPropagator Tests")
+class ConstraintPropagatorTest {
+
+    private ConstraintPropagator propagator;
+
+    @BeforeEach
+    void setUp() {
+        propagator = new ConstraintPropagator();
+    }
+
+    @Test
+    @DisplayName("Solves an easy puzzle with singles only")
+    void testSolvesEasyPuzzle() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.EASY);
+
+        assertTrue(propagator.propagate(puzzle));
+        assertTrue(puzzle.boardFull());
+        assertEquals(TestPuzzles.EASY_SOLUTION, TestPuzzles.format(puzzle));
+    }
+
+    @Test
+    @DisplayName("Placed values are mutable and given values stay immutable")
+    void testPlacedValuesAreMutable() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.EASY);
+
+        propagator.propagate(puzzle);
+
+        assertFalse(puzzle.isSlotMutable(0, 2));
+        assertTrue(puzzle.isSlotMutable(0, 0));
+    }
+
+    @Test
+    @DisplayName("Places a naked single")
+    void testNakedSingle() {
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+        for(int c = 0; c < 8; c++) {
+            puzzle.makeMove(0, c, c + 1, false);
+        }
+
+        assertTrue(propagator.propagate(puzzle));
+        assertEquals(9, puzzle.getValue(0, 8));
+    }
+
+    @Test
+    @DisplayName("Places a hidden single")
+    void testHiddenSingle() {
+        // 1 is blocked in rows 1 and 2 and in columns 1 and 2, so it can only go in the top-left slot of the box
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+        puzzle.makeMove(1, 3, 1, false);
+        puzzle.makeMove(2, 6, 1, false);
+        puzzle.makeMove(3, 1, 1, false);
+        puzzle.makeMove(6, 2, 1, false);
+
+        assertTrue(propagator.propagate(puzzle));
+        assertEquals(1, puzzle.getValue(0, 0));
+    }
+
+    @Test
+    @DisplayName("Never contradicts the solution of a hard puzzle")
+    void testHardPuzzleStaysConsistent() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        assertTrue(propagator.propagate(puzzle));
+        String values = TestPuzzles.format(puzzle);
+        for(int i = 0; i < values.length(); i++) {
+            if(values.charAt(i) != '.') {
+                assertEquals(TestPuzzles.HARDEST_SOLUTION.charAt(i), values.charAt(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Detects a contradiction and leaves the puzzle unchanged")
+    void testContradiction() {
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+        for(int c = 0; c < 8; c++) {
+            puzzle.makeMove(0, c, c + 1, false);
+        }
+        puzzle.makeMove(5, 8, 9, false);
+
+        assertFalse(propagator.propagate(puzzle));
+        assertEquals(Puzzle.NO_VALUE, puzzle.getValue(0, 8));
+    }
+
+    @Test
+    @DisplayName("Works on non-square boxes")
+    void testMiniSudoku() {
+        Puzzle puzzle = new Puzzle(PuzzleType.MINI_SUDOKU);
+        for(int c = 0; c < 5; c++) {
+            puzzle.makeMove(0, c, c + 1, false);
+        }
+
+        assertTrue(propagator.propagate(puzzle));
+        assertEquals(6, puzzle.getValue(0, 5));
+    }
+}
@@ -0,0 +1,200 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DancingLinksSolver Tests")
+class DancingLinksSolverTest {
+
+    private Solver solver;
+
+    @BeforeEach
+    void setUp() {
+        solver = new DancingLinksSolver();
+    }
+
+    @Test
+    @DisplayName("Solves the hardest sudoku in the world")
+    void testSolveHardest() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        assertTrue(solver.solve(puzzle));
+        assertEquals(TestPuzzles.HARDEST_SOLUTION, TestPuzzles.format(puzzle));
+    }
+
+    @Test
+    @DisplayName("Given values stay immutable and solved values are mutable")
+    void testSolveKeepsMutability() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        solver.solve(puzzle);
+
+        assertFalse(puzzle.isSlotMutable(0, 0));
+        assertTrue(puzzle.isSlotMutable(0, 1));
+        assertTrue(puzzle.boardFull());
+    }
+
+    @Test
+    @DisplayName("Unsolvable puzzle returns false and is left unchanged")
+    void testUnsolvablePuzzle() {
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+        // 1..8 in the first row and 9 in the column of the only free slot of that row
+        for(int c = 0; c < 8; c++) {
+            puzzle.makeMove(0, c, c + 1, false);
+        }
+        puzzle.makeMove(5, 8, 9, false);
+
+        assertFalse(solver.solve(puzzle));
+        assertEquals(Puzzle.NO_VALUE, puzzle.getValue(0, 8));
+        assertEquals(Puzzle.NO_VALUE, puzzle.getValue(1, 0));
+    }
+
+    @Test
+    @DisplayName("Solver instance can be reused across puzzle types")
+    void testReuseAcrossTypes() {
+        for(PuzzleType type : PuzzleType.values()) {
+            Puzzle puzzle = new Puzzle(type);
+            assertTrue(solver.solve(puzzle), "Empty " + type + " should be solvable");
+            assertTrue(puzzle.boardFull());
+        }
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+        assertTrue(solver.solve(puzzle));
+        assertEquals(TestPuzzles.HARDEST_SOLUTION, TestPuzzles.format(puzzle));
+    }
+
+    @Test
+    @DisplayName("countSolutions returns 1 for a puzzle with a unique solution")
+    void testCountSolutionsUnique() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        assertEquals(1, solver.countSolutions(puzzle, 2));
+        assertEquals(Puzzle.NO_VALUE, puzzle.getValue(0, 1), "countSolutions must not modify the puzzle");
+    }
+
+    @Test
+    @DisplayName("countSolutions stops at the limit")
+    void testCountSolutionsStopsAtLimit() {
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+
+        assertEquals(2, solver.countSolutions(puzzle, 2));
+        assertEquals(10, solver.countSolutions(puzzle, 10));
+    }
+
+    @Test
+    @DisplayName("countSolutions finds exactly two solutions when they exist")
+    void testCountSolutionsTwoSolutions() {
+        // Rows 0 and 1 hold 2 and 3 swapped in columns 2 and 5, so emptying the rectangle allows two solutions
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST_SOLUTION);
+        puzzle.makeSlotEmpty(0, 2);
+        puzzle.makeSlotEmpty(0, 5);
+        puzzle.makeSlotEmpty(1, 2);
+        puzzle.makeSlotEmpty(1, 5);
+
+        assertEquals(2, solver.countSolutions(puzzle, 5));
+    }
+
+    @Test
+    @DisplayName("countSolutions returns 0 for an unsolvable puzzle")
+    void testCountSolutionsUnsolvable() {
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+        for(int c = 0; c < 8; c++) {
+            puzzle.makeMove(0, c, c + 1, false);
+        }
+        puzzle.makeMove(5, 8, 9, false);
+
+        assertEquals(0, solver.countSolutions(puzzle, 2));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    @DisplayName("Solves an empty 16x16 puzzle quickly")
+    void testSolveEmptyMaxiSudoku() {
+        Puzzle puzzle = new Puzzle(PuzzleType.MAXI_SUDOKU);
+
+        assertTrue(solver.solve(puzzle));
+        assertTrue(puzzle.boardFull());
+    }
+
+    @Test
+    @DisplayName("Solutions of generated puzzles keep every given value")
+    void testSolveGeneratedPuzzles() {
+        Generator generator = new Generator();
+        for(PuzzleType type : new PuzzleType[]{PuzzleType.MINI_SUDOKU, PuzzleType.SUDOKU, PuzzleType.BIG_SUDOKU}) {
+            Puzzle puzzle = generator.generateRandomSudoku(type);
+            Puzzle solved = new Puzzle(puzzle);
+
+            assertTrue(solver.solve(solved), type + " should be solvable");
+            assertTrue(solved.boardFull());
+            for(int r = 0; r < type.getRows(); r++) {
+                for(int c = 0; c < type.getColumns(); c++) {
+                    if(puzzle.getValue(r, c) != Puzzle.NO_VALUE) {
+                        assertEquals(puzzle.getValue(r, c), solved.getValue(r, c));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Solves boards of geometries defined at runtime, beyond 32 values")
+    void testSolveLargeBoards() {
+        for(BoardGeometry geometry : new BoardGeometry[]{BoardGeometry.ofSize(25), BoardGeometry.ofSize(36)}) {
+            Puzzle puzzle = TestPuzzles.pattern(geometry, 2);
+
+            assertTrue(solver.solve(puzzle), geometry.toString());
+            assertTrue(puzzle.boardFull(), geometry.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("solveWithStats counts the rows chosen and undone by the search")
+    void testSolveWithStats() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        SolveResult result = solver.solveWithStats(puzzle);
+
+        assertTrue(result.isSolved());
+        assertEquals(TestPuzzles.HARDEST_SOLUTION, TestPuzzles.format(puzzle));
+        // Every empty slot is a row chosen at some level
+        assertEquals(81 - 21, result.getStats().getMaxDepth());
+        assertTrue(result.getStats().getNodes() >= 81 - 21);
+        assertTrue(result.getStats().getBacktracks() > 0);
+    }
+
+    @Test
+    @DisplayName("A search that runs out of nodes reports the budget exceeded")
+    void testNodeBudgetExceeded() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        SolveResult result = solver.solve(puzzle, SearchBudget.UNLIMITED.withMaxNodes(100));
+
+        assertEquals(SolveResult.Status.BUDGET_EXCEEDED, result.getStatus());
+        assertEquals(TestPuzzles.HARDEST, TestPuzzles.format(puzzle));
+        assertTrue(solver.solve(puzzle, SearchBudget.UNLIMITED.withMaxNodes(100_000)).isSolved());
+    }
+
+    @Test
+    @DisplayName("A nested count charges its nodes to the budget already spent by the caller")
+    void testSharedBudget() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+        SearchBudget budget = SearchBudget.UNLIMITED.withMaxNodes(100_000);
+        SearchCounters counters = new SearchCounters();
+        DancingLinksSolver counter = new DancingLinksSolver();
+
+        SearchOutcome outcome = counter.countSolutions(puzzle, 2, budget, 0, counters);
+        long nodes = counters.nodes;
+
+        assertEquals(1, outcome.solutions);
+        assertFalse(outcome.budgetExceeded);
+        assertTrue(nodes > 0);
+        assertTrue(counter.countSolutions(puzzle, 2, budget, 100_000 - 10, counters).budgetExceeded);
+        assertTrue(counters.nodes > nodes);
+        assertEquals(1, counter.countSolutions(puzzle, 2));
+    }
+}
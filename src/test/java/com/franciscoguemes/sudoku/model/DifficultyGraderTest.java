@@ -0,0 +1,192 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DifficultyGrader Tests")
+class DifficultyGraderTest {
+
+    // Needs a naked pair once the singles run out
+    private static final String NAKED_PAIR =
+            "4......38" +
+            ".32.941.." +
+            ".953..24." +
+            "37.6.9..4" +
+            ".29..16.3" +
+            "6.47.3.9." +
+            "957..83.." +
+            "..39..4.." +
+            "24..3.7.9";
+
+    // Needs an X-Wing once the singles run out
+    private static final String X_WING =
+            "1.....569" +
+            "492.561.8" +
+            ".561.924." +
+            "..964.8.1" +
+            ".64.1...." +
+            "218.356.4" +
+            ".4.5...16" +
+            "9.5.614.2" +
+            "621.....5";
+
+    private static final String EMPTY_ROWS = ".".repeat(81);
+
+    private DifficultyGrader grader;
+
+    @BeforeEach
+    void setUp() {
+        grader = new DifficultyGrader();
+    }
+
+    @Test
+    @DisplayName("Grades an easy puzzle with singles only")
+    void testEasyPuzzle() {
+        Grade grade = grader.grade(TestPuzzles.parse(TestPuzzles.EASY));
+
+        assertTrue(grade.isSolved());
+        assertTrue(grade.getHardestTechnique().ordinal() <= Technique.HIDDEN_SINGLE.ordinal());
+        assertTrue(grade.getScore() >= 49, "at least one deduction per empty slot");
+    }
+
+    @Test
+    @DisplayName("Detects a naked pair")
+    void testNakedPair() {
+        Grade grade = grader.grade(TestPuzzles.parse(NAKED_PAIR));
+
+        assertTrue(grade.isSolved());
+        assertEquals(Technique.NAKED_PAIR, grade.getHardestTechnique());
+    }
+
+    @Test
+    @DisplayName("Detects an X-Wing")
+    void testXWing() {
+        Grade grade = grader.grade(TestPuzzles.parse(X_WING));
+
+        assertTrue(grade.isSolved());
+        assertEquals(Technique.X_WING, grade.getHardestTechnique());
+    }
+
+    @Test
+    @DisplayName("Every technique falls in a band, and only unsolved puzzles are expert")
+    void testDifficultyBands() {
+        assertEquals(Difficulty.EASY, Difficulty.of(new Grade(0, null, true)));
+        assertEquals(Difficulty.EASY, Difficulty.of(new Grade(2, Technique.HIDDEN_SINGLE, true)));
+        assertEquals(Difficulty.MEDIUM, Difficulty.of(new Grade(5, Technique.NAKED_PAIR, true)));
+        assertEquals(Difficulty.HARD, Difficulty.of(new Grade(30, Technique.SWORDFISH, true)));
+        assertEquals(Difficulty.EXPERT, Difficulty.of(new Grade(2, Technique.HIDDEN_SINGLE, false)));
+        for(Technique technique : Technique.values()) {
+            assertNotEquals(Difficulty.EXPERT, Difficulty.of(new Grade(technique.getCost(), technique, true)), technique.name());
+        }
+    }
+
+    @Test
+    @DisplayName("A puzzle that needs guessing is not solved")
+    void testHardestPuzzleNeedsGuessing() {
+        Grade grade = grader.grade(TestPuzzles.parse(TestPuzzles.HARDEST));
+
+        assertFalse(grade.isSolved());
+    }
+
+    @Test
+    @DisplayName("A full board needs no deduction")
+    void testFullBoard() {
+        Grade grade = grader.grade(TestPuzzles.parse(TestPuzzles.EASY_SOLUTION));
+
+        assertTrue(grade.isSolved());
+        assertEquals(0, grade.getScore());
+        assertNull(grade.getHardestTechnique());
+    }
+
+    @Test
+    @DisplayName("Harder puzzles get a higher score")
+    void testScoresAreOrdered() {
+        int easy = grader.grade(TestPuzzles.parse(TestPuzzles.EASY)).getScore();
+        int xWing = grader.grade(TestPuzzles.parse(X_WING)).getScore();
+
+        assertTrue(xWing > easy);
+    }
+
+    @Test
+    @DisplayName("Grading does not modify the puzzle and the grader can be reused")
+    void testPuzzleIsNotModified() {
+        Puzzle puzzle = TestPuzzles.parse(X_WING);
+
+        Grade first = grader.grade(puzzle);
+        grader.grade(TestPuzzles.parse(TestPuzzles.HARDEST));
+        Grade second = grader.grade(puzzle);
+
+        assertEquals(X_WING, TestPuzzles.format(puzzle));
+        assertEquals(first.getScore(), second.getScore());
+        assertEquals(first.getHardestTechnique(), second.getHardestTechnique());
+    }
+
+    @Test
+    @DisplayName("Grades generated puzzles of every size")
+    void testGeneratedPuzzles() {
+        Generator generator = new Generator(42);
+        for(PuzzleType type : new PuzzleType[]{PuzzleType.MINI_SUDOKU, PuzzleType.SUDOKU, PuzzleType.BIG_SUDOKU}) {
+            Grade grade = grader.grade(generator.generateRandomSudoku(type));
+            assertTrue(grade.getScore() > 0, type.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Grades boards beyond 32 values")
+    void testGradeLargeBoard() {
+        BoardGeometry geometry = BoardGeometry.ofSize(36);
+        Puzzle solution = TestPuzzles.pattern(geometry, 1);
+        // Two empty slots in every row and every column
+        Puzzle puzzle = new Puzzle(geometry);
+        for(int r = 0; r < 36; r++) {
+            for(int c = 0; c < 36; c++) {
+                if(c != r && c != (r + 1) % 36) {
+                    puzzle.makeMove(r, c, solution.getValue(r, c), false);
+                }
+            }
+        }
+
+        Grade grade = grader.grade(puzzle);
+
+        assertTrue(grade.isSolved());
+        assertTrue(grade.getScore() > 0);
+    }
+
+    @Test
+    @DisplayName("Finds naked subsets in a unit with exactly as many candidate slots as values")
+    void testExactNakedSubsets() {
+        // The two empty slots of the first box only fit 1 and 2
+        Puzzle pair = TestPuzzles.parse("..3......" + "456......" + "789......" + EMPTY_ROWS.substring(27));
+        // The first row has three slots that only fit 1, 2 and 3
+        Puzzle triple = TestPuzzles.parse("........." + "456......" + "789......" + EMPTY_ROWS.substring(27));
+
+        assertEquals(Technique.NAKED_PAIR, grader.firstDeduction(pair));
+        assertEquals(Technique.NAKED_TRIPLE, grader.firstDeduction(triple));
+    }
+
+    @Test
+    @DisplayName("Finds hidden subsets in a unit with exactly as many confined values as slots")
+    void testExactHiddenSubsets() {
+        // 1 and 2 only fit the first two slots of the first row
+        Puzzle pair = TestPuzzles.parse("........." + "...1...2." + "....2.1.." + "..1......" + "..2......"
+                + EMPTY_ROWS.substring(45));
+        // 1, 2 and 3 only fit the first three slots of the first row
+        Puzzle triple = TestPuzzles.parse("........." + "...123..." + "......123" + EMPTY_ROWS.substring(27));
+
+        assertEquals(Technique.HIDDEN_PAIR, grader.firstDeduction(pair));
+        assertEquals(Technique.HIDDEN_TRIPLE, grader.firstDeduction(triple));
+    }
+
+    @Test
+    @DisplayName("No technique is tried once a slot without candidates is found")
+    void testContradiction() {
+        // The first slot sees every value
+        Puzzle puzzle = TestPuzzles.parse(".12345678" + "9........" + EMPTY_ROWS.substring(18));
+
+        assertNull(grader.firstDeduction(puzzle));
+        assertFalse(grader.grade(puzzle).isSolved());
+    }
+}
@@ -0,0 +1,94 @@
+package com.franciscoguemes.sudoku.model;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Flight recorder events Tests")
+class FlightRecorderEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Every solve is recorded with its outcome and node count")
+    void testSolveEvents() throws IOException {
+        Solver solver = new BacktrackingSolver();
+        Puzzle unsolvable = new Puzzle(PuzzleType.SUDOKU);
+        for(int c = 0; c < 8; c++) {
+            unsolvable.makeMove(0, c, c + 1, false);
+        }
+        unsolvable.makeMove(5, 8, 9, false);
+
+        List<RecordedEvent> events = record(SolveEvent.class, () -> {
+            solver.solve(TestPuzzles.parse(TestPuzzles.HARDEST));
+            solver.solve(unsolvable);
+        });
+
+        assertEquals(2, events.size());
+        RecordedEvent solved = events.get(0);
+        assertEquals("BacktrackingSolver", solved.getString("solver"));
+        assertEquals("SUDOKU", solved.getString("puzzleType"));
+        assertEquals("SOLVED", solved.getString("outcome"));
+        assertTrue(solved.getLong("nodes") > 0);
+        assertEquals("UNSOLVABLE", events.get(1).getString("outcome"));
+    }
+
+    @Test
+    @DisplayName("A generation is recorded with its puzzle type around the solver runs it made")
+    void testGenerationEvent() throws IOException {
+        Generator generator = new Generator(3L);
+
+        List<RecordedEvent> events = record(GenerationEvent.class,
+                () -> generator.generateRandomSudoku(PuzzleType.MINI_SUDOKU));
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("MINI_SUDOKU", event.getString("puzzleType"));
+        assertEquals(36, event.getLong("clueRemovalAttempts"));
+        assertFalse(event.getDuration().isNegative());
+    }
+
+    @Test
+    @DisplayName("Nothing is recorded when the events are disabled")
+    void testDisabled() throws IOException {
+        try(Recording recording = new Recording()) {
+            recording.disable(SolveEvent.class);
+            recording.start();
+            new BacktrackingSolver().solve(TestPuzzles.parse(TestPuzzles.HARDEST));
+            recording.stop();
+            Path file = tempDir.resolve("disabled.jfr");
+            recording.dump(file);
+            assertTrue(RecordingFile.readAllEvents(file).stream()
+                    .noneMatch(e -> e.getEventType().getName().equals("com.franciscoguemes.sudoku.Solve")));
+        }
+    }
+
+    private List<RecordedEvent> record(Class<? extends jdk.jfr.Event> eventClass, Runnable action) throws IOException {
+        String name = eventClass.getAnnotation(jdk.jfr.Name.class).value();
+        try(Recording recording = new Recording()) {
+            recording.enable(eventClass).withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            Path file = tempDir.resolve("events.jfr");
+            recording.dump(file);
+            // Only the events of this thread, in case other tests run at the same time
+            long threadId = Thread.currentThread().threadId();
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals(name))
+                    .filter(e -> e.getThread() != null && e.getThread().getJavaThreadId() == threadId)
+                    .collect(Collectors.toList());
+        }
+    }
+}
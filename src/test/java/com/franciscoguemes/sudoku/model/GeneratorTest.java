@@ -4,6 +4,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -50,6 +55,18 @@ class GeneratorTest {
         assertHasGivenValues(puzzle);
     }
 
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Generate 16x16 Maxi Sudoku puzzle")
+    void testGenerateMaxiSudoku() {
+        Puzzle puzzle = generator.generateRandomSudoku(PuzzleType.MAXI_SUDOKU);
+
+        assertNotNull(puzzle);
+        assertEquals(PuzzleType.MAXI_SUDOKU, puzzle.getPuzzleType());
+        assertFalse(puzzle.boardFull());
+        assertHasGivenValues(puzzle);
+    }
+
     @Test
     @DisplayName("Generated puzzle has some given (immutable) values")
     void testGeneratedPuzzleHasGivenValues() {
@@ -123,22 +140,56 @@ class GeneratorTest {
     }
 
     @Test
-    @DisplayName("Generated puzzle expected number of given values")
-    void testGeneratedPuzzleGivenValueCount() {
+    @DisplayName("Generated puzzle has a unique solution")
+    void testGeneratedPuzzleHasUniqueSolution() {
+        Solver solver = new DancingLinksSolver();
+        for(PuzzleType type : new PuzzleType[]{PuzzleType.MINI_SUDOKU, PuzzleType.SUDOKU, PuzzleType.BIG_SUDOKU}) {
+            Puzzle puzzle = generator.generateRandomSudoku(type);
+            assertEquals(1, solver.countSolutions(puzzle, 2), type + " puzzle should have exactly one solution");
+        }
+    }
+
+    @Test
+    @DisplayName("Every given value of a generated puzzle is needed for uniqueness")
+    void testGeneratedPuzzleIsMinimal() {
+        Solver solver = new DancingLinksSolver();
         Puzzle puzzle = generator.generateRandomSudoku(PuzzleType.SUDOKU);
 
-        int givenCount = 0;
         for(int r = 0; r < puzzle.getPuzzleType().getRows(); r++) {
             for(int c = 0; c < puzzle.getPuzzleType().getColumns(); c++) {
                 if(puzzle.getValue(r, c) != 0) {
-                    givenCount++;
+                    Puzzle reduced = new Puzzle(puzzle);
+                    reduced.makeSlotEmpty(r, c);
+                    assertEquals(2, solver.countSolutions(reduced, 2),
+                        "Removing the given at (" + r + "," + c + ") should allow another solution");
                 }
             }
         }
+    }
+
+    @Test
+    @DisplayName("Generates unique 9x9 puzzles in every difficulty band")
+    void testGenerateWithDifficulty() {
+        Generator seeded = new Generator(11L);
+        Solver solver = new DancingLinksSolver();
+        DifficultyGrader grader = new DifficultyGrader();
+
+        for(Difficulty difficulty : Difficulty.values()) {
+            Puzzle puzzle = seeded.generate(PuzzleType.SUDOKU, difficulty);
+            assertEquals(1, solver.countSolutions(puzzle, 2), difficulty + " puzzle should have exactly one solution");
+            assertEquals(difficulty, Difficulty.of(grader.grade(puzzle)));
+            assertHasGivenValues(puzzle);
+        }
+    }
+
+    @Test
+    @DisplayName("Falls back to the hardest puzzle found when the band cannot be reached")
+    void testGenerateUnreachableDifficulty() {
+        // 6x6 grids rarely land in the medium band, so the attempts usually run out
+        Puzzle puzzle = new Generator(5L).generate(PuzzleType.MINI_SUDOKU, Difficulty.MEDIUM);
 
-        // For 9x9, expects approximately 0.22222 * 81 = ~18 values
-        int expected = (int)(0.22222 * (puzzle.getPuzzleType().getRows() * puzzle.getPuzzleType().getRows()));
-        assertEquals(expected, givenCount, "Generated puzzle should have expected number of given values");
+        assertEquals(1, new DancingLinksSolver().countSolutions(puzzle, 2));
+        assertTrue(Difficulty.of(new DifficultyGrader().grade(puzzle)).ordinal() <= Difficulty.MEDIUM.ordinal());
     }
 
     @Test
@@ -171,8 +222,50 @@ class GeneratorTest {
         }
     }
 
+    @Test
+    @DisplayName("Generators with the same seed produce the same puzzles")
+    void testSameSeedSamePuzzles() {
+        Generator first = new Generator(42L);
+        Generator second = new Generator(42L);
+
+        for(int i = 0; i < 3; i++) {
+            assertSamePuzzle(first.generateRandomSudoku(PuzzleType.SUDOKU), second.generateRandomSudoku(PuzzleType.SUDOKU));
+        }
+    }
+
+    @Test
+    @DisplayName("Split generators are reproducible and independent")
+    void testSplitGenerators() {
+        Generator first = new Generator(7L).split();
+        Generator second = new Generator(7L).split();
+
+        Puzzle puzzle = first.generateRandomSudoku(PuzzleType.SUDOKU);
+        assertSamePuzzle(puzzle, second.generateRandomSudoku(PuzzleType.SUDOKU));
+        assertNotEquals(puzzle.toString(), new Generator(7L).generateRandomSudoku(PuzzleType.SUDOKU).toString());
+    }
+
+    @Test
+    @DisplayName("Parallel generation depends only on the seed and the number of threads")
+    void testParallelGenerationIsReproducible() {
+        List<Puzzle> first = new Generator(123L).generateRandomSudokus(PuzzleType.SUDOKU, 10, 4);
+        List<Puzzle> second = new Generator(123L).generateRandomSudokus(PuzzleType.SUDOKU, 10, 4);
+
+        assertEquals(10, first.size());
+        for(int i = 0; i < first.size(); i++) {
+            assertSamePuzzle(first.get(i), second.get(i));
+        }
+    }
+
     // Helper methods
 
+    private void assertSamePuzzle(Puzzle expected, Puzzle actual) {
+        for(int r = 0; r < expected.getPuzzleType().getRows(); r++) {
+            for(int c = 0; c < expected.getPuzzleType().getColumns(); c++) {
+                assertEquals(expected.getValue(r, c), actual.getValue(r, c), "Value at (" + r + "," + c + ")");
+            }
+        }
+    }
+
     private void assertHasGivenValues(Puzzle puzzle) {
         int valueCount = 0;
         for(int r = 0; r < puzzle.getPuzzleType().getRows(); r++) {
@@ -225,4 +318,76 @@ class GeneratorTest {
         }
         assertEquals(1, count, "Value " + value + " should appear exactly once in box at (" + row + "," + col + ")");
     }
+
+    @Test
+    @DisplayName("generateWithStats reports the clue removals tried and the solver work")
+    void testGenerateWithStats() {
+        long generationsBefore = SearchMetrics.getGenerations();
+        long attemptsBefore = SearchMetrics.getClueRemovalAttempts();
+
+        GenerationResult result = new Generator(11L).generateWithStats(PuzzleType.SUDOKU, Difficulty.EASY);
+
+        assertEquals(Difficulty.EASY, result.getDifficulty());
+        assertEquals(TestPuzzles.format(new Generator(11L).generate(PuzzleType.SUDOKU, Difficulty.EASY)),
+                TestPuzzles.format(result.getPuzzle()));
+        SearchStats stats = result.getStats();
+        // A single pass tries every slot of each grid once
+        assertEquals(0, stats.getClueRemovalAttempts() % 81);
+        assertTrue(stats.getClueRemovalAttempts() > 0);
+        assertTrue(stats.getNodes() > 0);
+        assertTrue(SearchMetrics.getGenerations() - generationsBefore >= 2);
+        assertTrue(SearchMetrics.getClueRemovalAttempts() - attemptsBefore >= 2 * stats.getClueRemovalAttempts());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    @DisplayName("Generation stops with no puzzle when the budget runs out")
+    void testGenerateBudgetExceeded() {
+        GenerationResult random = new Generator(7L).generateRandomSudoku(PuzzleType.MAXI_SUDOKU,
+                SearchBudget.UNLIMITED.withMaxNodes(500));
+        GenerationResult expired = new Generator(7L).generate(PuzzleType.SUDOKU, Difficulty.HARD,
+                SearchBudget.UNLIMITED.withTimeout(Duration.ZERO));
+
+        assertEquals(GenerationResult.Status.BUDGET_EXCEEDED, random.getStatus());
+        assertNull(random.getPuzzle());
+        assertTrue(random.getStats().getNodes() < 2000);
+        assertEquals(GenerationResult.Status.BUDGET_EXCEEDED, expired.getStatus());
+        assertNull(expired.getPuzzle());
+    }
+
+    @Test
+    @DisplayName("A budget that is not exhausted generates the same puzzle as no budget")
+    void testGenerateWithinBudget() {
+        SearchBudget budget = SearchBudget.UNLIMITED.withTimeout(Duration.ofMinutes(1)).withMaxNodes(Long.MAX_VALUE / 2);
+
+        GenerationResult result = new Generator(11L).generateRandomSudoku(PuzzleType.SUDOKU, budget);
+
+        assertEquals(GenerationResult.Status.GENERATED, result.getStatus());
+        assertEquals(TestPuzzles.format(new Generator(11L).generateRandomSudoku(PuzzleType.SUDOKU)),
+                TestPuzzles.format(result.getPuzzle()));
+    }
+
+    @Test
+    @DisplayName("Generated puzzles are in the band that a fresh grading gives them, and not in the band below")
+    void testGeneratedBandsMatchFreshGrading() {
+        DifficultyGrader grader = new DifficultyGrader();
+        Solver counter = new DancingLinksSolver();
+
+        for(long seed = 1; seed <= 4; seed++) {
+            for(Difficulty difficulty : Difficulty.values()) {
+                GenerationResult result = new Generator(seed).generateWithStats(PuzzleType.SUDOKU, difficulty);
+                Puzzle puzzle = result.getPuzzle();
+                String context = "seed " + seed + ", " + difficulty;
+
+                assertEquals(1, counter.countSolutions(puzzle, 2), context);
+                assertEquals(result.getDifficulty(), Difficulty.of(grader.grade(puzzle)), context);
+                assertTrue(result.getDifficulty().ordinal() <= difficulty.ordinal(), context);
+                if(result.getDifficulty() != Difficulty.EASY) {
+                    Difficulty below = Difficulty.values()[result.getDifficulty().ordinal() - 1];
+                    grader.load(puzzle);
+                    assertFalse(grader.gradeLoaded(below.getHardestTechnique()).isSolved(), context);
+                }
+            }
+        }
+    }
 }
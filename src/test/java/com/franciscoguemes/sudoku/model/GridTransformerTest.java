@@ -0,0 +1,135 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GridTransformer Tests")
+class GridTransformerTest {
+
+    @Test
+    @DisplayName("Relabels the values")
+    void testRelabel() {
+        Puzzle grid = TestPuzzles.parse(TestPuzzles.EASY_SOLUTION);
+
+        Puzzle relabelled = GridTransformer.relabel(grid, new int[]{9, 8, 7, 6, 5, 4, 3, 2, 1});
+
+        assertValidGrid(relabelled);
+        assertEquals(10 - grid.getValue(4, 7), relabelled.getValue(4, 7));
+    }
+
+    @Test
+    @DisplayName("Rejects a relabelling that is not a permutation")
+    void testRelabelRejectsDuplicates() {
+        Puzzle grid = TestPuzzles.parse(TestPuzzles.EASY_SOLUTION);
+
+        assertThrows(IllegalArgumentException.class, () -> GridTransformer.relabel(grid, new int[]{1, 1, 3, 4, 5, 6, 7, 8, 9}));
+        assertThrows(IllegalArgumentException.class, () -> GridTransformer.relabel(grid, new int[]{1, 2, 3}));
+    }
+
+    @Test
+    @DisplayName("Swaps rows and columns within a band or stack")
+    void testSwapRowsAndColumns() {
+        Puzzle grid = TestPuzzles.parse(TestPuzzles.EASY_SOLUTION);
+
+        Puzzle rows = GridTransformer.swapRows(grid, 3, 5);
+        Puzzle cols = GridTransformer.swapColumns(grid, 6, 7);
+
+        assertValidGrid(rows);
+        assertValidGrid(cols);
+        assertEquals(grid.getValue(5, 0), rows.getValue(3, 0));
+        assertEquals(grid.getValue(0, 7), cols.getValue(0, 6));
+    }
+
+    @Test
+    @DisplayName("Rejects swaps that would break the boxes")
+    void testSwapAcrossBoxesIsRejected() {
+        Puzzle grid = TestPuzzles.parse(TestPuzzles.EASY_SOLUTION);
+
+        assertThrows(IllegalArgumentException.class, () -> GridTransformer.swapRows(grid, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> GridTransformer.swapColumns(grid, 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> GridTransformer.swapBands(grid, 0, 3));
+    }
+
+    @Test
+    @DisplayName("Swaps bands and stacks")
+    void testSwapBandsAndStacks() {
+        Puzzle grid = TestPuzzles.parse(TestPuzzles.EASY_SOLUTION);
+
+        Puzzle bands = GridTransformer.swapBands(grid, 0, 2);
+        Puzzle stacks = GridTransformer.swapStacks(grid, 1, 2);
+
+        assertValidGrid(bands);
+        assertValidGrid(stacks);
+        assertEquals(grid.getValue(7, 1), bands.getValue(1, 1));
+        assertEquals(grid.getValue(4, 8), stacks.getValue(4, 5));
+    }
+
+    @Test
+    @DisplayName("Transposes boards with square boxes only")
+    void testTranspose() {
+        Puzzle grid = TestPuzzles.parse(TestPuzzles.EASY_SOLUTION);
+
+        Puzzle transposed = GridTransformer.transpose(grid);
+
+        assertValidGrid(transposed);
+        assertEquals(grid.getValue(2, 7), transposed.getValue(7, 2));
+        assertThrows(IllegalArgumentException.class, () -> GridTransformer.transpose(new Puzzle(PuzzleType.MINI_SUDOKU)));
+    }
+
+    @Test
+    @DisplayName("Keeps givens, empty slots and the number of solutions")
+    void testPuzzleIsPreserved() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+        Solver solver = new DancingLinksSolver();
+
+        Puzzle transformed = new GridTransformer(new SplittableRandom(3)).randomize(puzzle);
+
+        assertEquals(1, solver.countSolutions(transformed, 2));
+        int givens = 0;
+        for(int r = 0; r < 9; r++) {
+            for(int c = 0; c < 9; c++) {
+                if(transformed.getValue(r, c) != Puzzle.NO_VALUE) {
+                    assertFalse(transformed.isSlotMutable(r, c));
+                    givens++;
+                }
+            }
+        }
+        assertEquals(21, givens);
+    }
+
+    @Test
+    @DisplayName("Random transformations of a grid are valid and varied for every size")
+    void testRandomize() {
+        GridTransformer transformer = new GridTransformer(new SplittableRandom(1));
+        Solver solver = new BacktrackingSolver();
+        for(PuzzleType type : PuzzleType.values()) {
+            Puzzle grid = new Puzzle(type);
+            assertTrue(solver.solve(grid));
+
+            Set<String> grids = new HashSet<>();
+            for(int i = 0; i < 50; i++) {
+                Puzzle transformed = transformer.randomize(grid);
+                assertValidGrid(transformed);
+                grids.add(transformed.toString());
+            }
+            assertTrue(grids.size() > 45, type.name());
+        }
+    }
+
+    private void assertValidGrid(Puzzle grid) {
+        PuzzleType type = grid.getPuzzleType();
+        Puzzle rebuilt = new Puzzle(type);
+        for(int r = 0; r < type.getRows(); r++) {
+            for(int c = 0; c < type.getColumns(); c++) {
+                rebuilt.makeMove(r, c, grid.getValue(r, c), true);
+            }
+        }
+        assertTrue(rebuilt.boardFull(), "Grid has empty slots or conflicting values");
+    }
+}
@@ -0,0 +1,130 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParallelSolver Tests")
+class ParallelSolverTest {
+
+    private ParallelSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        solver = new ParallelSolver(4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        solver.close();
+    }
+
+    @Test
+    @DisplayName("Solves the hardest sudoku in the world")
+    void testSolveHardest() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        assertTrue(solver.solve(puzzle));
+        assertEquals(TestPuzzles.HARDEST_SOLUTION, TestPuzzles.format(puzzle));
+        assertFalse(puzzle.isSlotMutable(0, 0));
+        assertTrue(puzzle.isSlotMutable(0, 1));
+    }
+
+    @Test
+    @DisplayName("Solves sequentially when the split depth is 0")
+    void testSequentialFallback() {
+        try(ParallelSolver sequential = new ParallelSolver(1, 0)) {
+            Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+            assertTrue(sequential.solve(puzzle));
+            assertEquals(TestPuzzles.HARDEST_SOLUTION, TestPuzzles.format(puzzle));
+        }
+    }
+
+    @Test
+    @DisplayName("Unsolvable puzzle returns false and is left unchanged")
+    void testUnsolvablePuzzle() {
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+        for(int c = 0; c < 8; c++) {
+            puzzle.makeMove(0, c, c + 1, false);
+        }
+        puzzle.makeMove(5, 8, 9, false);
+
+        assertFalse(solver.solve(puzzle));
+        assertEquals(Puzzle.NO_VALUE, puzzle.getValue(0, 8));
+    }
+
+    @Test
+    @DisplayName("countSolutions stops at the limit across subtasks")
+    void testCountSolutions() {
+        assertEquals(1, solver.countSolutions(TestPuzzles.parse(TestPuzzles.HARDEST), 2));
+        assertEquals(2, solver.countSolutions(new Puzzle(PuzzleType.SUDOKU), 2));
+        assertEquals(50, solver.countSolutions(new Puzzle(PuzzleType.SUDOKU), 50));
+    }
+
+    @Test
+    @DisplayName("Counts every solution when below the limit")
+    void testCountSolutionsBelowLimit() {
+        // Rows 0 and 1 hold 2 and 3 swapped in columns 2 and 5, so emptying the rectangle allows two solutions
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST_SOLUTION);
+        puzzle.makeSlotEmpty(0, 2);
+        puzzle.makeSlotEmpty(0, 5);
+        puzzle.makeSlotEmpty(1, 2);
+        puzzle.makeSlotEmpty(1, 5);
+
+        assertEquals(2, solver.countSolutions(puzzle, 10));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    @DisplayName("Solves 16x16 puzzles")
+    void testSolveMaxiSudoku() {
+        Puzzle puzzle = new Puzzle(PuzzleType.MAXI_SUDOKU);
+        for(int c = 0; c < 16; c++) {
+            puzzle.makeMove(c, c, (c * 5) % 16 + 1, false);
+        }
+
+        assertTrue(solver.solve(puzzle));
+        assertTrue(puzzle.boardFull());
+        assertEquals(1, solver.countSolutions(puzzle, 2));
+    }
+
+    @Test
+    @DisplayName("Rejects a negative split depth")
+    void testNegativeSplitDepth() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSolver(2, -1));
+    }
+
+    @Test
+    @DisplayName("solveWithStats merges the counters of every subtask")
+    void testSolveWithStats() {
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        SolveResult result = solver.solveWithStats(puzzle);
+
+        assertTrue(result.isSolved());
+        assertEquals(TestPuzzles.HARDEST_SOLUTION, TestPuzzles.format(puzzle));
+        assertTrue(result.getStats().getNodes() > 0);
+        assertTrue(result.getStats().getPropagationSteps() > 0);
+        assertTrue(result.getStats().getMaxDepth() > solver.getSplitDepth());
+    }
+
+    @Test
+    @DisplayName("A cancelled budget stops every subtask")
+    void testCancelledBudget() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        Puzzle puzzle = TestPuzzles.parse(TestPuzzles.HARDEST);
+
+        SolveResult result = solver.solve(puzzle, SearchBudget.UNLIMITED.withCancellation(token));
+
+        assertEquals(SolveResult.Status.BUDGET_EXCEEDED, result.getStatus());
+        assertEquals(TestPuzzles.HARDEST, TestPuzzles.format(puzzle));
+    }
+}
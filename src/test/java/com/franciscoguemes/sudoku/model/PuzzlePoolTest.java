@@ -0,0 +1,95 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PuzzlePool Tests")
+class PuzzlePoolTest {
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    @DisplayName("Prefilling fills the pool up to the high-water mark")
+    void testPrefill() throws InterruptedException {
+        try(PuzzlePool pool = new PuzzlePool(new Generator(1L), 3)) {
+            pool.prefill(PuzzleType.SUDOKU);
+
+            awaitAvailable(pool, PuzzleType.SUDOKU, 3);
+            assertEquals(0, pool.available(PuzzleType.MINI_SUDOKU));
+        }
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    @DisplayName("Taking a puzzle refills the pool")
+    void testTakeRefills() throws InterruptedException {
+        try(PuzzlePool pool = new PuzzlePool(new Generator(2L), 2)) {
+            pool.prefill(PuzzleType.MINI_SUDOKU);
+            awaitAvailable(pool, PuzzleType.MINI_SUDOKU, 2);
+
+            Puzzle puzzle = pool.take(PuzzleType.MINI_SUDOKU);
+
+            assertEquals(PuzzleType.MINI_SUDOKU, puzzle.getPuzzleType());
+            assertEquals(1, new DancingLinksSolver().countSolutions(puzzle, 2));
+            awaitAvailable(pool, PuzzleType.MINI_SUDOKU, 2);
+        }
+    }
+
+    @Test
+    @DisplayName("Generates on the calling thread when the pool is empty or closed")
+    void testTakeFromEmptyPool() {
+        PuzzlePool pool = new PuzzlePool(new Generator(3L), 1);
+        pool.close();
+
+        Puzzle puzzle = pool.take(PuzzleType.SUDOKU);
+
+        assertEquals(PuzzleType.SUDOKU, puzzle.getPuzzleType());
+        assertEquals(1, new DancingLinksSolver().countSolutions(puzzle, 2));
+        assertEquals(0, pool.available(PuzzleType.SUDOKU));
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    @DisplayName("Closing stops the workers in progress")
+    void testCloseStopsWorkers() throws InterruptedException {
+        PuzzlePool pool = new PuzzlePool(new Generator(4L), 8);
+        pool.prefill(PuzzleType.SUDOKU);
+        pool.prefill(PuzzleType.MAXI_SUDOKU);
+
+        pool.close();
+        int available = pool.available(PuzzleType.SUDOKU) + pool.available(PuzzleType.MAXI_SUDOKU);
+        Thread.sleep(50);
+
+        assertEquals(0, pool.activeWorkers());
+        assertEquals(available, pool.available(PuzzleType.SUDOKU) + pool.available(PuzzleType.MAXI_SUDOKU));
+    }
+
+    @Test
+    @DisplayName("Generates the same fallback puzzles from the same seed")
+    void testFallbackIsDeterministic() {
+        PuzzlePool first = new PuzzlePool(new Generator(5L), 1);
+        PuzzlePool second = new PuzzlePool(new Generator(5L), 1);
+        first.close();
+        second.close();
+
+        for(int i = 0; i < 3; i++) {
+            assertEquals(first.take(PuzzleType.MINI_SUDOKU).toString(), second.take(PuzzleType.MINI_SUDOKU).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects a high-water mark that is not positive")
+    void testInvalidHighWaterMark() {
+        assertThrows(IllegalArgumentException.class, () -> new PuzzlePool(new Generator(), 0));
+    }
+
+    private void awaitAvailable(PuzzlePool pool, PuzzleType type, int count) throws InterruptedException {
+        while(pool.available(type) < count) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -42,6 +42,33 @@ class PuzzleTest {
         assertEquals(3, copy.getValue(1, 1));
     }
 
+    @Test
+    @DisplayName("Copy keeps the given slots beyond the first 64 slots")
+    void testCopyKeepsGivensOfLastSlots() {
+        standardPuzzle.makeMove(8, 8, 9, false);
+        standardPuzzle.makeMove(8, 7, 8, true);
+        Puzzle copy = new Puzzle(standardPuzzle);
+
+        assertEquals(9, copy.getValue(8, 8));
+        assertFalse(copy.isSlotMutable(8, 8));
+        assertTrue(copy.isSlotMutable(8, 7));
+        assertFalse(copy.isValidMove(8, 0, 9));
+    }
+
+    @Test
+    @DisplayName("16x16 values are stored and read back")
+    void testMaxiSudokuValues() {
+        Puzzle puzzle = new Puzzle(PuzzleType.MAXI_SUDOKU);
+        puzzle.makeMove(15, 15, 16, false);
+        puzzle.makeMove(0, 0, 16, true);
+
+        assertEquals(16, puzzle.getValue(15, 15));
+        assertEquals(16, puzzle.getValue(0, 0));
+        assertFalse(puzzle.isSlotMutable(15, 15));
+        assertTrue(puzzle.isSlotMutable(0, 0));
+        assertEquals(16, puzzle.getBoard()[15][15]);
+    }
+
     @Test
     @DisplayName("makeMove sets value when move is valid")
     void testMakeMoveValid() {
@@ -162,6 +189,17 @@ class PuzzleTest {
         assertEquals(0, standardPuzzle.getValue(0, 9));
     }
 
+    @Test
+    @DisplayName("Slot mutability and emptying reject coordinates out of range")
+    void testSlotAccessOutOfRange() {
+        assertThrows(IndexOutOfBoundsException.class, () -> standardPuzzle.isSlotMutable(9, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> standardPuzzle.isSlotMutable(0, -1));
+        // Column 9 of row 0 would be slot (1, 0) in the flat array
+        assertThrows(IndexOutOfBoundsException.class, () -> standardPuzzle.isSlotMutable(0, 9));
+        assertThrows(IndexOutOfBoundsException.class, () -> standardPuzzle.makeSlotEmpty(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> standardPuzzle.makeSlotEmpty(0, 9));
+    }
+
     @Test
     @DisplayName("getBoard returns defensive copy")
     void testGetBoardDefensiveCopy() {
@@ -249,6 +287,64 @@ class PuzzleTest {
         assertEquals(0, standardPuzzle.getValue(0, 0));
     }
 
+    @Test
+    @DisplayName("makeSlotEmpty makes the value available again in row, column and box")
+    void testMakeSlotEmptyRestoresConstraints() {
+        standardPuzzle.makeMove(4, 4, 7, true);
+        assertFalse(standardPuzzle.isValidMove(4, 0, 7));
+        assertFalse(standardPuzzle.isValidMove(0, 4, 7));
+        assertFalse(standardPuzzle.isValidMove(3, 3, 7));
+
+        standardPuzzle.makeSlotEmpty(4, 4);
+        assertFalse(standardPuzzle.numInRow(4, 7));
+        assertFalse(standardPuzzle.numInCol(4, 7));
+        assertFalse(standardPuzzle.numInBox(4, 4, 7));
+        assertTrue(standardPuzzle.isValidMove(4, 0, 7));
+        assertTrue(standardPuzzle.isValidMove(0, 4, 7));
+        assertTrue(standardPuzzle.isValidMove(3, 3, 7));
+    }
+
+    @Test
+    @DisplayName("Overwriting a mutable slot releases the previous value")
+    void testMakeMoveOverwriteReleasesPreviousValue() {
+        standardPuzzle.makeMove(0, 0, 5, true);
+        standardPuzzle.makeMove(0, 0, 6, true);
+
+        assertEquals(6, standardPuzzle.getValue(0, 0));
+        assertFalse(standardPuzzle.numInRow(0, 5));
+        assertTrue(standardPuzzle.numInRow(0, 6));
+        assertTrue(standardPuzzle.isValidMove(0, 8, 5));
+    }
+
+    @Test
+    @DisplayName("Constraint checks of a copy are independent from the original")
+    void testCopyConstraintsIndependent() {
+        standardPuzzle.makeMove(0, 0, 5, true);
+        Puzzle copy = new Puzzle(standardPuzzle);
+
+        copy.makeSlotEmpty(0, 0);
+        assertTrue(copy.isValidMove(0, 1, 5));
+        assertFalse(standardPuzzle.isValidMove(0, 1, 5));
+    }
+
+    @Test
+    @DisplayName("Values outside the puzzle range are never valid moves")
+    void testIsValidMoveOutOfRangeValue() {
+        assertFalse(standardPuzzle.isValidMove(0, 0, Puzzle.NO_VALUE));
+        assertFalse(standardPuzzle.isValidMove(0, 0, 10));
+        assertFalse(standardPuzzle.numInRow(0, 10));
+    }
+
+    @Test
+    @DisplayName("Box constraints use the box geometry of non-square boxes")
+    void testNumInBoxMiniSudoku() {
+        // Mini sudoku boxes are 3 columns wide and 2 rows high
+        miniPuzzle.makeMove(0, 0, 4, true);
+        assertTrue(miniPuzzle.numInBox(1, 2, 4));
+        assertFalse(miniPuzzle.numInBox(2, 0, 4));
+        assertFalse(miniPuzzle.numInBox(0, 3, 4));
+    }
+
     @Test
     @DisplayName("toString generates valid board representation")
     void testToString() {
@@ -270,4 +366,63 @@ class PuzzleTest {
         assertTrue(miniPuzzle.inRange(5, 5));
         assertFalse(miniPuzzle.inRange(6, 6));
     }
+
+    @Test
+    @DisplayName("loadGivens replaces the board with immutable givens")
+    void testLoadGivens() {
+        standardPuzzle.makeMove(8, 8, 4, true);
+        int[] values = new int[81];
+        values[0] = 5;
+        values[80] = 9;
+
+        standardPuzzle.loadGivens(values);
+
+        assertEquals(5, standardPuzzle.getValue(0, 0));
+        assertEquals(9, standardPuzzle.getValue(8, 8));
+        assertFalse(standardPuzzle.isSlotMutable(0, 0));
+        assertTrue(standardPuzzle.isSlotMutable(4, 4));
+        assertFalse(standardPuzzle.isValidMove(0, 5, 5));
+        assertTrue(standardPuzzle.isValidMove(7, 7, 4));
+    }
+
+    @Test
+    @DisplayName("loadGivens skips invalid and conflicting values like makeMove")
+    void testLoadGivensSkipsInvalidValues() {
+        int[] values = new int[36];
+        values[0] = 3;
+        values[1] = 3;
+        values[6] = 3;
+        values[2] = 7;
+        values[3] = 2;
+
+        miniPuzzle.loadGivens(values);
+
+        assertEquals(3, miniPuzzle.getValue(0, 0));
+        assertEquals(Puzzle.NO_VALUE, miniPuzzle.getValue(0, 1));
+        assertEquals(Puzzle.NO_VALUE, miniPuzzle.getValue(1, 0));
+        assertEquals(Puzzle.NO_VALUE, miniPuzzle.getValue(0, 2));
+        assertTrue(miniPuzzle.isSlotMutable(0, 1));
+        assertEquals(2, miniPuzzle.getValue(0, 3));
+    }
+
+    @Test
+    @DisplayName("Constraint checks use values beyond 32 on 36x36 boards")
+    void testValuesBeyond32() {
+        Puzzle puzzle = new Puzzle(BoardGeometry.ofSize(36));
+        puzzle.makeMove(0, 0, 36, false);
+        puzzle.makeMove(1, 7, 33, true);
+
+        assertEquals(36, puzzle.getValue(0, 0));
+        assertTrue(puzzle.numInRow(0, 36));
+        assertTrue(puzzle.numInCol(0, 36));
+        assertTrue(puzzle.numInBox(5, 5, 36));
+        assertFalse(puzzle.numInRow(0, 4));
+        assertFalse(puzzle.isValidMove(0, 35, 36));
+        assertFalse(puzzle.isValidMove(1, 0, 33));
+        assertTrue(puzzle.isValidMove(6, 0, 33));
+        assertFalse(puzzle.isValidMove(0, 1, 37));
+
+        puzzle.makeSlotEmpty(1, 7);
+        assertTrue(puzzle.isValidMove(1, 0, 33));
+    }
 }
@@ -0,0 +1,47 @@
+package com.franciscoguemes.sudoku.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SearchBudget Tests")
+class SearchBudgetTest {
+
+    @Test
+    @DisplayName("The unlimited budget is never exhausted")
+    void testUnlimited() {
+        assertTrue(SearchBudget.UNLIMITED.isUnlimited());
+        assertFalse(SearchBudget.UNLIMITED.isExhausted(Long.MAX_VALUE));
+        assertNull(SearchBudget.UNLIMITED.getRemainingTime());
+    }
+
+    @Test
+    @DisplayName("Each limit exhausts the budget on its own")
+    void testLimits() {
+        SearchBudget nodes = SearchBudget.UNLIMITED.withMaxNodes(10);
+        assertFalse(nodes.isExhausted(10));
+        assertTrue(nodes.isExhausted(11));
+
+        CancellationToken token = new CancellationToken();
+        SearchBudget cancellable = SearchBudget.UNLIMITED.withCancellation(token);
+        assertFalse(cancellable.isExhausted(0));
+        token.cancel();
+        assertTrue(cancellable.isExhausted(0));
+
+        assertTrue(SearchBudget.UNLIMITED.withTimeout(Duration.ZERO).isExhausted(0));
+        SearchBudget far = SearchBudget.UNLIMITED.withTimeout(Duration.ofSeconds(Long.MAX_VALUE));
+        assertFalse(far.isExhausted(0));
+        assertFalse(far.isUnlimited());
+    }
+
+    @Test
+    @DisplayName("Negative limits are rejected")
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> SearchBudget.UNLIMITED.withMaxNodes(-1));
+        assertThrows(IllegalArgumentException.class, () -> SearchBudget.UNLIMITED.withTimeout(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> SearchBudget.UNLIMITED.withCancellation(null));
+    }
+}
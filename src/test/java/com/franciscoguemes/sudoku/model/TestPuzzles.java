@@ -0,0 +1,93 @@
+package com.franciscoguemes.sudoku.model;
+
+/**
+ * Puzzles shared by the solver tests, written as 81 characters in row-major order with '.' for empty slots.
+ */
+final class TestPuzzles {
+
+    static final String HARDEST =
+            "8........" +
+            "..36....." +
+            ".7..9.2.." +
+            ".5...7..." +
+            "....457.." +
+            "...1...3." +
+            "..1....68" +
+            "..85...1." +
+            ".9....4..";
+
+    static final String HARDEST_SOLUTION =
+            "812753649" +
+            "943682175" +
+            "675491283" +
+            "154237896" +
+            "369845721" +
+            "287169534" +
+            "521974368" +
+            "438526917" +
+            "796318452";
+
+    static final String EASY =
+            "..3.2.6.." +
+            "9..3.5..1" +
+            "..18.64.." +
+            "..81.29.." +
+            "7.......8" +
+            "..67.82.." +
+            "..26.95.." +
+            "8..2.3..9" +
+            "..5.1.3..";
+
+    static final String EASY_SOLUTION =
+            "483921657" +
+            "967345821" +
+            "251876493" +
+            "548132976" +
+            "729564138" +
+            "136798245" +
+            "372689514" +
+            "814253769" +
+            "695417382";
+
+    static Puzzle parse(String values) {
+        Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+        for(int i = 0; i < values.length(); i++) {
+            char ch = values.charAt(i);
+            if(ch != '.') {
+                puzzle.makeMove(i / 9, i % 9, ch - '0', false);
+            }
+        }
+        return puzzle;
+    }
+
+    static String format(Puzzle puzzle) {
+        StringBuilder sb = new StringBuilder();
+        for(int r = 0; r < 9; r++) {
+            for(int c = 0; c < 9; c++) {
+                int value = puzzle.getValue(r, c);
+                sb.append(value == Puzzle.NO_VALUE ? '.' : (char) ('0' + value));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A valid board of any geometry, built from the shifted-rows pattern, keeping one slot out of every
+     * given number as a given and leaving the others empty.
+     */
+    static Puzzle pattern(BoardGeometry geometry, int keepEvery) {
+        final int SIZE = geometry.getRows();
+        final int BOXHEIGHT = geometry.getBoxHeight();
+        final int BOXWIDTH = geometry.getBoxWidth();
+        Puzzle puzzle = new Puzzle(geometry);
+        for(int r = 0; r < SIZE; r++) {
+            for(int c = 0; c < SIZE; c++) {
+                if((r * SIZE + c) % keepEvery == 0) {
+                    int value = ((r % BOXHEIGHT) * BOXWIDTH + r / BOXHEIGHT + c) % SIZE + geometry.getMinValue();
+                    puzzle.makeMove(r, c, value, false);
+                }
+            }
+        }
+        return puzzle;
+    }
+}
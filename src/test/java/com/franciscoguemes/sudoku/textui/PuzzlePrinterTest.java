@@ -6,6 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("PuzzlePrinter Tests")
@@ -149,4 +154,69 @@ class PuzzlePrinterTest {
             assertFalse(rendered.contains("0"));
         }
     }
+
+    @Nested
+    @DisplayName("Rendering to an Appendable")
+    class AppendableRendering {
+
+        private final PuzzlePrinter printer = new InternalValuesPuzzlePrinter();
+
+        @Test
+        @DisplayName("Appends the same text that render returns")
+        void testRenderToAppendable() throws IOException {
+            Puzzle puzzle = new Puzzle(PuzzleType.BIG_SUDOKU);
+            puzzle.makeMove(0, 0, 12, false);
+            StringBuilder sb = new StringBuilder("> ");
+
+            printer.render(puzzle, sb);
+
+            assertEquals("> " + printer.render(puzzle), sb.toString());
+        }
+
+        @Test
+        @DisplayName("Batch mode renders every puzzle in order")
+        void testRenderAll() throws IOException {
+            List<Puzzle> puzzles = new ArrayList<>();
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < 300; i++) {
+                Puzzle puzzle = new Puzzle(i % 2 == 0 ? PuzzleType.SUDOKU : PuzzleType.MINI_SUDOKU);
+                puzzle.makeMove(0, 0, 1 + i % 6, false);
+                puzzles.add(puzzle);
+                expected.append(printer.render(puzzle));
+            }
+            StringWriter out = new StringWriter();
+
+            printer.renderAll(puzzles.stream(), out);
+
+            assertEquals(expected.toString(), out.toString());
+        }
+
+        @Test
+        @DisplayName("Printers that only render strings get the Appendable methods by default")
+        void testDefaultAppendableMethods() throws IOException {
+            PuzzlePrinter plain = new PuzzlePrinter() {
+                @Override
+                public void print(Puzzle puzzle) {
+                    System.out.print(render(puzzle));
+                }
+
+                @Override
+                public String render(Puzzle puzzle) {
+                    return puzzle.getValue(0, 0) + ";";
+                }
+            };
+            List<Puzzle> puzzles = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                Puzzle puzzle = new Puzzle(PuzzleType.SUDOKU);
+                puzzle.makeMove(0, 0, i, false);
+                puzzles.add(puzzle);
+            }
+            StringBuilder sb = new StringBuilder();
+
+            plain.render(puzzles.get(0), sb);
+            plain.renderAll(puzzles.stream(), sb);
+
+            assertEquals("1;1;2;3;", sb.toString());
+        }
+    }
 }